@@ -1,7 +0,0 @@
-package com.studentmanagement;
-
-public class AppLauncher {
-    public static void main(String[] args) {
-        Main.main(args);
-    }
-}
@@ -0,0 +1,17 @@
+package com.studentmanagement;
+
+import com.studentmanagement.api.ApiServer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class AppLauncher {
+    public static void main(String[] args) throws IOException {
+        // --server [port] runs the REST API without the JavaFX UI
+        if (args.length > 0 && "--server".equals(args[0])) {
+            ApiServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Main.main(args);
+    }
+}
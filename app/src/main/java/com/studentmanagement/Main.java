@@ -0,0 +1,81 @@
+package com.studentmanagement;
+
+import com.studentmanagement.controllers.ScreenManager;
+import com.studentmanagement.services.DataServices;
+import com.studentmanagement.services.StudentConflictException;
+import com.studentmanagement.services.StudentRepository;
+import com.studentmanagement.services.StudentWriteRejectedException;
+import com.studentmanagement.utils.Metrics;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+public class Main extends Application {
+    private boolean saveErrorShowing;
+    
+    @Override
+    public void start(Stage primaryStage) throws IOException {
+        // Readable with jconsole or any JMX client
+        Metrics.registerMBean();
+        
+        // Student changes are saved in the background; surface failures here.
+        // Failed writes are retried, so only one alert is shown at a time.
+        DataServices.get().addPersistenceFailureListener(e -> Platform.runLater(() -> showSaveError(e)));
+        
+        // Read the roster while the user logs in, so the dashboard finds it loaded
+        CompletableFuture.runAsync(StudentRepository::getShared);
+        
+        // Screens are loaded once and reused for the rest of the session
+        ScreenManager.init(primaryStage);
+        if (!ScreenManager.show(ScreenManager.Screen.LOGIN)) {
+            throw new IOException("Could not load the login screen");
+        }
+        primaryStage.setResizable(false);
+        primaryStage.show();
+    }
+    
+    // Writes queued student changes and releases the journal files or the
+    // database pool. The stage is gone by now, so anything left unsaved is
+    // reported through Metrics.error rather than an alert.
+    @Override
+    public void stop() {
+        StudentRepository.stopSharing();
+        DataServices.get().close();
+    }
+    
+    private void showSaveError(Exception e) {
+        if (saveErrorShowing) {
+            return;
+        }
+        saveErrorShowing = true;
+        Alert alert;
+        if (e instanceof StudentConflictException) {
+            // Another instance saved first; these changes are dropped, not retried
+            alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Edit Conflict");
+            alert.setHeaderText("Student changes were overwritten");
+            alert.setContentText(e.getMessage() + "\n\nThe other user's version has been loaded.");
+        } else if (e instanceof StudentWriteRejectedException) {
+            // Never retried; the rejected change has been undone
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Save Failed");
+            alert.setHeaderText("A student change was rejected");
+            alert.setContentText(e.getMessage() + "\n\nThe change has been undone.");
+        } else {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Save Failed");
+            alert.setHeaderText("Student changes could not be saved");
+            alert.setContentText(e.getMessage() + "\n\nThe save will be retried automatically.");
+        }
+        alert.setOnHidden(event -> saveErrorShowing = false);
+        alert.show();
+    }
+    
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,625 @@
+package com.studentmanagement.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.AuthService;
+import com.studentmanagement.services.DataServices;
+import com.studentmanagement.services.JsonDataService;
+import com.studentmanagement.services.Session;
+import com.studentmanagement.services.StudentConflictException;
+import com.studentmanagement.services.StudentQuery;
+import com.studentmanagement.services.StudentQueryResult;
+import com.studentmanagement.services.StudentRepository;
+import com.studentmanagement.services.StudentStatistics;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import com.studentmanagement.utils.StudentValidator;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Headless REST/JSON API over the shared student repository, started with
+// AppLauncher --server [port]. Clients log in through POST /api/login and
+// send the returned token as "Authorization: Bearer <token>".
+//
+//   POST   /api/login                 {"username", "password"} -> {"token", "username", "role"}
+//   POST   /api/logout
+//   GET    /api/stats                 dashboard statistics
+//   GET    /api/students              admin only; offset, limit, sort, desc, department, minGpa, maxGpa, q
+//   POST   /api/students              admin only
+//   GET    /api/students/{id}         admin only
+//   PUT    /api/students/{id}         admin only; body carries the "version" that was read
+//   DELETE /api/students/{id}         admin only; If-Match: "<version>" or ?version=<version>
+//   GET    /api/metrics               admin only; plain-text metrics report
+//
+// GET responses carry an ETag derived from the repository's epoch and
+// modification count, so an If-None-Match from a client that is up to date
+// gets a 304 without the roster being read. The shared repository is looked
+// up again per request, as it is reloaded in the background when another
+// instance replaces the roster. Requests run on virtual threads when the
+// JVM has them, otherwise on a fixed pool. A PUT or DELETE based on a
+// version that is no longer current gets a 409 with the current record, or a
+// 404 if it has been deleted, and should be re-read and retried. One that
+// races another instance's edit not picked up yet is accepted, then undone
+// when its compare-and-set write is rejected. A DELETE that names no
+// version gets a 428.
+public class ApiServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String STUDENTS_PATH = "/api/students";
+    private static final Gson gson = new Gson();
+    private static final Logger logger = Logger.getLogger("com.studentmanagement.api");
+    private static final LongAdder clientErrors = Metrics.counter("api.responses.4xx");
+    private static final LongAdder serverErrors = Metrics.counter("api.responses.5xx");
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Distinguishes ETags issued by this process from those of an earlier run
+    private final String etagPrefix = Long.toString(System.currentTimeMillis(), 36);
+    
+    public ApiServer(int port) throws IOException {
+        // Responses are small and written as headers then body; with Nagle's
+        // algorithm on, each one waits out the client's delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        createContext("/api/login", this::handleLogin);
+        createContext("/api/logout", this::handleLogout);
+        createContext("/api/stats", this::handleStats);
+        createContext(STUDENTS_PATH, this::handleStudents);
+        createContext("/api/metrics", this::handleMetrics);
+    }
+    
+    // Every endpoint is timed as api.<name>, e.g. api.students. A context
+    // matches any path that starts with its own, so requests for paths such
+    // as /api/studentsXYZ are answered with a 404 here.
+    private void createContext(String path, HttpHandler handler) {
+        LatencyHistogram latency = Metrics.timer("api" + path.substring("/api".length()).replace('/', '.'));
+        server.createContext(path, handler).getFilters().add(new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                long start = System.nanoTime();
+                try {
+                    String requestPath = exchange.getRequestURI().getPath();
+                    if (!requestPath.equals(path) && !requestPath.startsWith(path + "/")) {
+                        try (exchange) {
+                            sendError(exchange, 404, "Not found");
+                        }
+                        return;
+                    }
+                    chain.doFilter(exchange);
+                } catch (IOException | RuntimeException e) {
+                    Metrics.error("api", e);
+                    throw e;
+                } finally {
+                    latency.record(System.nanoTime() - start);
+                    int status = exchange.getResponseCode();
+                    if (status >= 500) {
+                        serverErrors.increment();
+                    } else if (status >= 400) {
+                        clientErrors.increment();
+                    }
+                }
+            }
+            
+            @Override
+            public String description() {
+                return "Request timing";
+            }
+        });
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("sms.api.port", DEFAULT_PORT);
+        Metrics.registerMBean();
+        ApiServer api = new ApiServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(api::stop, "api-shutdown"));
+        api.start();
+        logger.info("Student API listening on port " + api.getPort());
+    }
+    
+    public void start() {
+        server.start();
+    }
+    
+    // Lets in-flight requests finish, then writes queued changes and closes
+    // the storage; anything left unsaved is reported through Metrics.error
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        StudentRepository.stopSharing();
+        DataServices.get().close();
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    private static ExecutorService newRequestExecutor() {
+        try {
+            // Java 21+; looked up reflectively so the project still builds on 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "api-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    // Handlers
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!requireMethod(exchange, "POST")) {
+                return;
+            }
+            JsonObject body = readJsonObject(exchange);
+            if (body == null || !body.has("username") || !body.has("password")) {
+                sendError(exchange, 400, "username and password are required");
+                return;
+            }
+            Session session = AuthService.authenticate(body.get("username").getAsString(),
+                    body.get("password").getAsString());
+            if (session == null) {
+                sendError(exchange, 401, "Invalid username or password");
+                return;
+            }
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("token", session.getToken());
+            response.put("username", session.getUsername());
+            response.put("role", session.getRole());
+            sendJson(exchange, 200, gson.toJson(response), null);
+        }
+    }
+    
+    private void handleLogout(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!requireMethod(exchange, "POST")) {
+                return;
+            }
+            Session session = authorize(exchange, false);
+            if (session != null) {
+                AuthService.logout(session.getToken());
+                sendEmpty(exchange, 204);
+            }
+        }
+    }
+    
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!requireMethod(exchange, "GET") || authorize(exchange, false) == null) {
+                return;
+            }
+            StudentRepository repository = StudentRepository.getShared();
+            String etag = currentEtag(repository);
+            if (notModified(exchange, etag)) {
+                return;
+            }
+            StudentStatistics statistics = repository.getStatistics();
+            int currentYear = LocalDate.now().getYear();
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("total", statistics.getTotal());
+            response.put("averageGpa", statistics.getAverageGpa());
+            response.put("recentEnrollments", statistics.countEnrolledSince(currentYear - 2));
+            response.put("departments", statistics.getDepartmentCounts());
+            response.put("enrollmentYears", statistics.getEnrollmentYearCounts());
+            sendJson(exchange, 200, gson.toJson(response), etag);
+        }
+    }
+    
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!requireMethod(exchange, "GET") || authorize(exchange, true) == null) {
+                return;
+            }
+            byte[] body = Metrics.report().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    private void handleStudents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Student records are admin-only, as on the desktop
+            if (authorize(exchange, true) == null) {
+                return;
+            }
+            try {
+                // The timing filter has already turned away paths such as
+                // /api/studentsXYZ, so anything longer carries an ID. getPath()
+                // is already percent-decoded, and a '+' in a path is literal.
+                String path = exchange.getRequestURI().getPath();
+                String id = path.length() > STUDENTS_PATH.length() + 1
+                        ? path.substring(STUDENTS_PATH.length() + 1)
+                        : null;
+                String method = exchange.getRequestMethod();
+                StudentRepository repository = StudentRepository.getShared();
+                
+                if (id == null) {
+                    switch (method) {
+                        case "GET":
+                            listStudents(exchange, repository);
+                            break;
+                        case "POST":
+                            createStudent(exchange, repository);
+                            break;
+                        default:
+                            sendMethodNotAllowed(exchange, "GET, POST");
+                    }
+                } else {
+                    switch (method) {
+                        case "GET":
+                            getStudent(exchange, repository, id);
+                            break;
+                        case "PUT":
+                            updateStudent(exchange, repository, id);
+                            break;
+                        case "DELETE":
+                            deleteStudent(exchange, repository, id);
+                            break;
+                        default:
+                            sendMethodNotAllowed(exchange, "GET, PUT, DELETE");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            }
+        }
+    }
+    
+    private void listStudents(HttpExchange exchange, StudentRepository repository) throws IOException {
+        String etag = currentEtag(repository);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+        Map<String, String> params = queryParameters(exchange);
+        int offset = Math.max(0, intParameter(params, "offset", 0));
+        int limit = Math.max(1, Math.min(MAX_PAGE_SIZE, intParameter(params, "limit", DEFAULT_PAGE_SIZE)));
+        
+        List<Student> page;
+        int total;
+        String search = params.get("q");
+        if (search != null && !search.isBlank()) {
+            List<Student> matches = repository.search(search);
+            total = matches.size();
+            page = matches.subList(Math.min(offset, total), Math.min(offset + limit, total));
+        } else {
+            StudentQueryResult result = repository.query(buildQuery(params));
+            total = result.size();
+            page = result.fetchPage(offset, limit);
+        }
+        
+        StringBuilder json = new StringBuilder(128 + page.size() * 256);
+        json.append("{\"total\":").append(total)
+                .append(",\"offset\":").append(offset)
+                .append(",\"limit\":").append(limit)
+                .append(",\"items\":[");
+        for (int i = 0; i < page.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            JsonDataService.writeStudent(page.get(i), json);
+        }
+        json.append("]}");
+        sendJson(exchange, 200, json.toString(), etag);
+    }
+    
+    private void getStudent(HttpExchange exchange, StudentRepository repository, String id) throws IOException {
+        String etag = currentEtag(repository);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+        Student student = repository.findById(id);
+        if (student == null) {
+            sendError(exchange, 404, "No student with ID " + id);
+            return;
+        }
+        StringBuilder json = new StringBuilder(256);
+        JsonDataService.writeStudent(student, json);
+        sendJson(exchange, 200, json.toString(), etag);
+    }
+    
+    private void createStudent(HttpExchange exchange, StudentRepository repository) throws IOException {
+        Student student = readValidStudent(exchange);
+        if (student == null) {
+            return;
+        }
+        student.setVersion(0);
+        if (!repository.add(student)) {
+            sendError(exchange, 409, "Student ID " + student.getStudentId() + " already exists");
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", "/api/students/" + student.getStudentId());
+        StringBuilder json = new StringBuilder(256);
+        JsonDataService.writeStudent(student, json);
+        sendJson(exchange, 201, json.toString(), null);
+    }
+    
+    private void updateStudent(HttpExchange exchange, StudentRepository repository, String id) throws IOException {
+        Student student = readValidStudent(exchange);
+        if (student == null) {
+            return;
+        }
+        try {
+            if (!repository.update(id, student)) {
+                sendError(exchange, 409, "Student ID " + student.getStudentId() + " already exists");
+                return;
+            }
+        } catch (StudentConflictException e) {
+            sendConflict(exchange, id, e);
+            return;
+        }
+        StringBuilder json = new StringBuilder(256);
+        JsonDataService.writeStudent(student, json);
+        sendJson(exchange, 200, json.toString(), null);
+    }
+    
+    private void deleteStudent(HttpExchange exchange, StudentRepository repository, String id) throws IOException {
+        Long version = expectedVersion(exchange);
+        if (version == null) {
+            sendError(exchange, 428, "Send the version that was read as If-Match or ?version=");
+            return;
+        }
+        try {
+            repository.delete(id, version);
+        } catch (StudentConflictException e) {
+            sendConflict(exchange, id, e);
+            return;
+        }
+        sendEmpty(exchange, 204);
+    }
+    
+    // Request helpers
+    private Session authorize(HttpExchange exchange, boolean adminOnly) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+        Session session = AuthService.getSession(token);
+        if (session == null) {
+            exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+            sendError(exchange, 401, "Missing or expired session token");
+            return null;
+        }
+        if (adminOnly && !session.isAdmin()) {
+            sendError(exchange, 403, "Admin access required");
+            return null;
+        }
+        return session;
+    }
+    
+    private static boolean requireMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        sendMethodNotAllowed(exchange, method);
+        return false;
+    }
+    
+    private String currentEtag(StudentRepository repository) {
+        return "\"" + etagPrefix + "-" + repository.getEpoch() + "-" + repository.getModificationCount() + "\"";
+    }
+    
+    private static boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                exchange.getResponseHeaders().set("ETag", etag);
+                sendEmpty(exchange, 304);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // From If-Match ("3", W/"3" or 3) or the version parameter; null if neither is sent
+    private static Long expectedVersion(HttpExchange exchange) {
+        String value = exchange.getRequestHeaders().getFirst("If-Match");
+        if (value != null) {
+            value = value.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+        } else {
+            value = queryParameters(exchange).get("version");
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("version must be the student's version number");
+        }
+    }
+    
+    private static StudentQuery buildQuery(Map<String, String> params) {
+        StudentQuery query = StudentQuery.all();
+        String department = params.get("department");
+        if (department != null && !department.isBlank()) {
+            query.department(department);
+        }
+        if (params.containsKey("minGpa") || params.containsKey("maxGpa")) {
+            query.gpaBetween(doubleParameter(params, "minGpa", 0.0), doubleParameter(params, "maxGpa", 4.0));
+        }
+        String sort = params.get("sort");
+        if (sort != null && !sort.isBlank()) {
+            StudentQuery.SortField field = parseSortField(sort);
+            query.sortBy(field, Boolean.parseBoolean(params.get("desc")));
+        }
+        return query;
+    }
+    
+    // Accepts the enum name or its camel-case form, e.g. GPA, lastName, enrollment_year
+    private static StudentQuery.SortField parseSortField(String sort) {
+        String normalized = sort.replace("_", "").toUpperCase(Locale.ROOT);
+        for (StudentQuery.SortField field : StudentQuery.SortField.values()) {
+            if (field.name().replace("_", "").equals(normalized)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort field: " + sort);
+    }
+    
+    private static Student readValidStudent(HttpExchange exchange) throws IOException {
+        Student student;
+        try {
+            student = JsonDataService.parseStudent(readBody(exchange));
+        } catch (JsonParseException | DateTimeException | IllegalStateException e) {
+            // IllegalStateException: a field of the wrong JSON type, e.g. an
+            // object where the date of birth should be
+            sendError(exchange, 400, "Malformed student JSON");
+            return null;
+        }
+        if (student == null) {
+            sendError(exchange, 400, "Request body must be a student object");
+            return null;
+        }
+        Set<StudentValidator.Violation> violations = new StudentValidator().validate(student);
+        if (!violations.isEmpty()) {
+            sendError(exchange, 422, violations.stream()
+                    .map(StudentValidator.Violation::getMessage)
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return student;
+    }
+    
+    private static JsonObject readJsonObject(HttpExchange exchange) throws IOException {
+        try {
+            var element = JsonParser.parseString(readBody(exchange));
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+    
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals >= 0 ? pair.substring(0, equals) : pair;
+            String value = equals >= 0 ? pair.substring(equals + 1) : "";
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+    
+    private static int intParameter(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+    }
+    
+    private static double doubleParameter(Map<String, String> params, String name, double defaultValue) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+    
+    // Response helpers
+    // The JDK server sometimes fails to read the next request on a connection
+    // kept alive after a response without a body, so those close it instead
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Connection", "close");
+        exchange.sendResponseHeaders(status, -1);
+    }
+    
+    private static void sendJson(HttpExchange exchange, int status, String json, String etag) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+    
+    // 404 if the record is gone, otherwise 409 with the record as it is stored
+    private static void sendConflict(HttpExchange exchange, String id, StudentConflictException e) throws IOException {
+        if (e.getCurrent() == null) {
+            sendError(exchange, 404, "No student with ID " + id);
+            return;
+        }
+        StringBuilder json = new StringBuilder(256);
+        JsonDataService.writeStudent(e.getCurrent(), json);
+        sendJson(exchange, 409, json.toString(), null);
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, gson.toJson(Map.of("error", message)), null);
+    }
+    
+    private static void sendMethodNotAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        sendError(exchange, 405, "Method not allowed");
+    }
+}
@@ -0,0 +1,293 @@
+package com.studentmanagement.controllers;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.AuthService;
+import com.studentmanagement.services.GpaSummary;
+import com.studentmanagement.services.DataServices;
+import com.studentmanagement.services.LiveStudentAnalytics;
+import com.studentmanagement.services.StudentChangeEvent;
+import com.studentmanagement.services.StudentEventBus;
+import com.studentmanagement.services.StudentRepository;
+import com.studentmanagement.services.StudentStatistics;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StackedBarChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class DashboardController implements ManagedScreen {
+    
+    private static final LatencyHistogram loadLatency = Metrics.timer("ui.dashboard.load");
+    private static final LatencyHistogram applyChangesLatency = Metrics.timer("ui.dashboard.applyChanges");
+    private static final Comparator<Map.Entry<String, GpaSummary>> DEPARTMENT_ORDER =
+            Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    @FXML private Label welcomeLabel;
+    @FXML private Label totalStudentsLabel;
+    @FXML private Label avgGpaLabel;
+    @FXML private Label recentEnrollmentsLabel;
+    @FXML private BarChart<String, Number> departmentChart;
+    @FXML private Button manageStudentsButton;
+    @FXML private Button logoutButton;
+    @FXML private Label medianGpaLabel;
+    @FXML private Label percentileGpaLabel;
+    @FXML private TableView<Map.Entry<String, GpaSummary>> departmentStatsTable;
+    @FXML private TableColumn<Map.Entry<String, GpaSummary>, String> statsDepartmentColumn;
+    @FXML private TableColumn<Map.Entry<String, GpaSummary>, Long> statsCountColumn;
+    @FXML private TableColumn<Map.Entry<String, GpaSummary>, String> statsMeanColumn;
+    @FXML private TableColumn<Map.Entry<String, GpaSummary>, String> statsMedianColumn;
+    @FXML private TableColumn<Map.Entry<String, GpaSummary>, String> statsStdDevColumn;
+    @FXML private StackedBarChart<String, Number> cohortChart;
+    
+    private StudentRepository repository;
+    private StudentEventBus.Subscription changeSubscription;
+    // One bar per department, adjusted in place as students come and go
+    private final Map<String, XYChart.Data<String, Number>> departmentBars = new HashMap<>();
+    private LiveStudentAnalytics analytics;
+    // Department table rows in DEPARTMENT_ORDER, replaced one by one as
+    // departments change
+    private final ObservableList<Map.Entry<String, GpaSummary>> departmentRows = FXCollections.observableArrayList();
+    // One stacked series per department, with its bars by enrollment year
+    private final Map<String, XYChart.Series<String, Number>> cohortSeries = new HashMap<>();
+    private final Map<String, NavigableMap<Integer, XYChart.Data<String, Number>>> cohortBars = new HashMap<>();
+    
+    @FXML
+    private void initialize() {
+        setupAnalyticsTable();
+    }
+    
+    // The screen is kept between visits and users, so everything that depends
+    // on the logged-in user or the roster is read again here
+    @Override
+    public void onShow() {
+        // Set welcome message
+        String username = AuthService.getCurrentUser().getUsername();
+        String role = AuthService.getCurrentUser().getRole();
+        welcomeLabel.setText("Welcome, " + username + " (" + role + ")");
+        
+        // Load statistics
+        long start = System.nanoTime();
+        repository = StudentRepository.getShared();
+        loadStatistics();
+        
+        // Setup chart
+        setupDepartmentChart();
+        loadLatency.record(System.nanoTime() - start);
+        
+        // Detailed analytics are kept up to date in the background
+        analytics = LiveStudentAnalytics.start(StudentRepository::getShared, this::showAnalytics, Platform::runLater);
+        
+        changeSubscription = repository.getEvents().subscribe(this::applyChanges, Platform::runLater);
+        
+        // Disable manage button for non-admin users
+        boolean admin = AuthService.isAdmin();
+        manageStudentsButton.setDisable(!admin);
+        manageStudentsButton.setText(admin ? "Manage Students" : "Manage Students (Admin Only)");
+    }
+    
+    @Override
+    public void onHide() {
+        changeSubscription.cancel();
+        analytics.stop();
+    }
+    
+    private void loadStatistics() {
+        StudentStatistics statistics = repository.getStatistics();
+        
+        // Total students
+        totalStudentsLabel.setText(String.valueOf(statistics.getTotal()));
+        
+        // Average GPA
+        avgGpaLabel.setText(String.format("%.2f", statistics.getAverageGpa()));
+        
+        // Recent enrollments (last 2 years)
+        int currentYear = java.time.LocalDate.now().getYear();
+        recentEnrollmentsLabel.setText(String.valueOf(statistics.countEnrolledSince(currentYear - 2)));
+    }
+    
+    private void setupDepartmentChart() {
+        // Clear existing data
+        departmentChart.getData().clear();
+        
+        // Create series for chart
+        XYChart.Series<String, Number> series = new XYChart.Series<>();
+        series.setName("Students by Department");
+        
+        // Add precomputed department counts to series
+        departmentBars.clear();
+        repository.getStatistics().getDepartmentCounts().forEach((dept, count) -> {
+            XYChart.Data<String, Number> bar = new XYChart.Data<>(dept, count);
+            departmentBars.put(dept, bar);
+            series.getData().add(bar);
+        });
+        
+        departmentChart.getData().add(series);
+        
+        // Customize chart appearance
+        departmentChart.setTitle("Student Distribution by Department");
+        departmentChart.setLegendVisible(false);
+    }
+    
+    // Applies one FX pulse worth of roster changes. The labels come from the
+    // running statistics and the department bars are adjusted by the net
+    // change per department, so neither needs a pass over the roster.
+    private void applyChanges(List<StudentChangeEvent> changes) {
+        long start = System.nanoTime();
+        for (StudentChangeEvent change : changes) {
+            if (change.getType() == StudentChangeEvent.Type.RESET) {
+                repository = StudentRepository.getShared();
+                loadStatistics();
+                setupDepartmentChart();
+                applyChangesLatency.record(System.nanoTime() - start);
+                return;
+            }
+        }
+        
+        Map<String, Integer> departmentDeltas = new HashMap<>();
+        for (StudentChangeEvent change : changes) {
+            if (change.getBefore() != null) {
+                departmentDeltas.merge(change.getBefore().getDepartment(), -1, Integer::sum);
+            }
+            if (change.getAfter() != null) {
+                departmentDeltas.merge(change.getAfter().getDepartment(), 1, Integer::sum);
+            }
+        }
+        XYChart.Series<String, Number> series = departmentChart.getData().get(0);
+        departmentDeltas.forEach((dept, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            XYChart.Data<String, Number> bar = departmentBars.get(dept);
+            if (bar == null) {
+                bar = new XYChart.Data<>(dept, delta);
+                departmentBars.put(dept, bar);
+                series.getData().add(bar);
+            } else if (bar.getYValue().intValue() + delta <= 0) {
+                departmentBars.remove(dept);
+                series.getData().remove(bar);
+            } else {
+                bar.setYValue(bar.getYValue().intValue() + delta);
+            }
+        });
+        
+        loadStatistics();
+        applyChangesLatency.record(System.nanoTime() - start);
+    }
+    
+    private void setupAnalyticsTable() {
+        statsDepartmentColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().getKey()));
+        statsCountColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().getValue().getCount()));
+        statsMeanColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(
+                String.format("%.2f", row.getValue().getValue().getMean())));
+        statsMedianColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(
+                String.format("%.2f", row.getValue().getValue().getMedian())));
+        statsStdDevColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(
+                String.format("%.2f", row.getValue().getValue().getStandardDeviation())));
+        departmentStatsTable.setItems(departmentRows);
+    }
+    
+    // Applies what changed since the last update; only a full update, after
+    // the screen is shown or the roster reloaded, rebuilds the table and chart
+    private void showAnalytics(LiveStudentAnalytics.Update update) {
+        GpaSummary overall = update.getOverall();
+        medianGpaLabel.setText(String.format("Median GPA: %.2f", overall.getMedian()));
+        percentileGpaLabel.setText(String.format("10th / 90th Percentile: %.2f / %.2f",
+                overall.getPercentile(10), overall.getPercentile(90)));
+        
+        if (update.isFull()) {
+            departmentRows.clear();
+            cohortChart.getData().clear();
+            cohortSeries.clear();
+            cohortBars.clear();
+        }
+        update.getDepartments().forEach(this::showDepartment);
+        update.getCohorts().forEach((year, counts) ->
+                counts.forEach((dept, count) -> showCohort(year, dept, count)));
+    }
+    
+    private void showDepartment(String dept, GpaSummary summary) {
+        Map.Entry<String, GpaSummary> row = new AbstractMap.SimpleImmutableEntry<>(dept, summary);
+        int index = Collections.binarySearch(departmentRows, row, DEPARTMENT_ORDER);
+        if (summary == null) {
+            if (index >= 0) {
+                departmentRows.remove(index);
+            }
+        } else if (index >= 0) {
+            departmentRows.set(index, row);
+        } else {
+            departmentRows.add(-index - 1, row);
+        }
+    }
+    
+    private void showCohort(int year, String dept, long count) {
+        NavigableMap<Integer, XYChart.Data<String, Number>> bars = cohortBars.get(dept);
+        XYChart.Data<String, Number> bar = bars != null ? bars.get(year) : null;
+        if (bar != null) {
+            if (count > 0) {
+                bar.setYValue(count);
+                return;
+            }
+            bars.remove(year);
+            XYChart.Series<String, Number> series = cohortSeries.get(dept);
+            series.getData().remove(bar);
+            if (bars.isEmpty()) {
+                cohortBars.remove(dept);
+                cohortSeries.remove(dept);
+                cohortChart.getData().remove(series);
+            }
+        } else if (count > 0) {
+            if (bars == null) {
+                bars = new TreeMap<>();
+                cohortBars.put(dept, bars);
+                XYChart.Series<String, Number> series = new XYChart.Series<>();
+                series.setName(dept);
+                cohortSeries.put(dept, series);
+                cohortChart.getData().add(series);
+            }
+            bar = new XYChart.Data<>(String.valueOf(year), count);
+            // Keep each series in year order, which the axis follows
+            cohortSeries.get(dept).getData().add(bars.headMap(year).size(), bar);
+            bars.put(year, bar);
+        }
+    }
+    
+    @FXML
+    private void handleManageStudents() {
+        ScreenManager.show(ScreenManager.Screen.STUDENTS);
+    }
+    
+    @FXML
+    private void handleLogout() {
+        // Make sure this session's edits are on disk before leaving
+        if (!DataServices.get().flushStudentChanges()) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Logout");
+            alert.setHeaderText(null);
+            alert.setContentText("Some student changes have not been saved yet. They will keep being retried in the background.");
+            alert.showAndWait();
+        }
+        AuthService.logout();
+        ScreenManager.show(ScreenManager.Screen.LOGIN);
+    }
+}
@@ -3,23 +3,18 @@ package com.studentmanagement.controllers;
 import com.studentmanagement.services.AuthService;
 import com.studentmanagement.utils.ValidationUtils;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.stage.Stage;
 
-import java.io.IOException;
-
-public class LoginController {
+public class LoginController implements ManagedScreen {
     
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private Button loginButton;
     @FXML private Label errorLabel;
     
-    @FXML
-    private void initialize() {
+    // The screen is reused after logout, so it is reset on every visit
+    @Override
+    public void onShow() {
         errorLabel.setVisible(false);
         
         // Set default credentials for testing
@@ -27,6 +22,11 @@ public class LoginController {
         passwordField.setText("admin123");
     }
     
+    @Override
+    public void onHide() {
+        passwordField.clear();
+    }
+    
     @FXML
     private void handleLogin() {
         String username = usernameField.getText().trim();
@@ -43,18 +43,15 @@ public class LoginController {
             return;
         }
         
-        // Successful login - navigate to dashboard
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/dashboard.fxml"));
-            Parent root = loader.load();
-            
-            Stage stage = (Stage) loginButton.getScene().getWindow();
-            stage.setScene(new Scene(root, 1000, 600));
-            stage.setTitle("Student Management System - Dashboard");
-            stage.centerOnScreen();
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Successful login - navigate to dashboard. It is needed right away,
+        // so it is loaded here; the student screen, which admins open next,
+        // is then parsed in the background so opening it later is instant.
+        if (!ScreenManager.show(ScreenManager.Screen.DASHBOARD)) {
             showError("Failed to load dashboard");
+            return;
+        }
+        if (AuthService.isAdmin()) {
+            ScreenManager.preload(ScreenManager.Screen.STUDENTS);
         }
     }
     
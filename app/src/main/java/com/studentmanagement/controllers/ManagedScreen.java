@@ -0,0 +1,12 @@
+package com.studentmanagement.controllers;
+
+// Controller of a screen that ScreenManager keeps loaded between visits.
+// initialize() runs once, possibly on a background thread, so anything that
+// depends on the logged-in user or the current roster belongs in onShow().
+public interface ManagedScreen {
+    // Called on the FX thread every time the screen is shown
+    void onShow();
+    
+    // Called on the FX thread when another screen replaces this one
+    void onHide();
+}
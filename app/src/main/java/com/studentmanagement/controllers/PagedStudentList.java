@@ -0,0 +1,207 @@
+package com.studentmanagement.controllers;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentPageSource;
+import com.studentmanagement.utils.Metrics;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Read-only list for TableView that only materializes the pages the table
+// actually asks for. TableView's virtual flow calls get() for visible rows
+// only, so at most MAX_CACHED_PAGES pages of rows are held at a time.
+// Everything but the prefetch runs on the FX thread.
+public class PagedStudentList extends ObservableListBase<Student> {
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 8;
+    private static final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "student-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Map<Integer, List<Student>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Student>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> prefetching = new HashSet<>();
+    private final Executor prefetcher;
+    private final Executor fxThread;
+    private StudentPageSource source;
+    private int size;
+    // Bumped whenever cached pages go stale, so a prefetch started before
+    // that is dropped instead of cached
+    private long generation;
+    
+    public PagedStudentList(StudentPageSource source) {
+        this(source, prefetchExecutor, Platform::runLater);
+    }
+    
+    PagedStudentList(StudentPageSource source, Executor prefetcher, Executor fxThread) {
+        this.source = source;
+        this.size = source.size();
+        this.prefetcher = prefetcher;
+        this.fxThread = fxThread;
+    }
+    
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int pageIndex = index / PAGE_SIZE;
+        int offset = index % PAGE_SIZE;
+        // Read the next page in the background so scrolling down does not
+        // stall on a page boundary
+        if (offset >= PAGE_SIZE / 2 && (pageIndex + 1) * PAGE_SIZE < size) {
+            prefetch(pageIndex + 1);
+        }
+        List<Student> page = loadPage(pageIndex);
+        return offset < page.size() ? page.get(offset) : null;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    public StudentPageSource getSource() {
+        return source;
+    }
+    
+    public void setSource(StudentPageSource source) {
+        this.source = source;
+        refresh();
+    }
+    
+    // Drops cached pages and tells the table to re-read the rows it has shown.
+    // Rows that stay in range are reported as updated rather than replaced,
+    // so the table keeps its selection and scroll position.
+    public void refresh() {
+        int oldSize = size;
+        List<Integer> shown = new ArrayList<>(pages.keySet());
+        dropPages();
+        size = source.size();
+        
+        beginChange();
+        int kept = Math.min(oldSize, size);
+        for (int pageIndex : shown) {
+            int end = Math.min(kept, (pageIndex + 1) * PAGE_SIZE);
+            for (int i = pageIndex * PAGE_SIZE; i < end; i++) {
+                nextUpdate(i);
+            }
+        }
+        if (size < oldSize) {
+            nextRemove(size, new StaleRows(oldSize - size));
+        } else if (size > oldSize) {
+            nextAdd(oldSize, size);
+        }
+        endChange();
+    }
+    
+    // Swaps a changed row in place if it is on a cached page; a row that is
+    // not cached is read fresh when the table scrolls to it anyway
+    public void replace(Student before, Student after) {
+        for (Map.Entry<Integer, List<Student>> entry : pages.entrySet()) {
+            List<Student> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                Student row = page.get(i);
+                if (row != null && row.getStudentId().equals(before.getStudentId())) {
+                    page.set(i, after);
+                    beginChange();
+                    nextSet(entry.getKey() * PAGE_SIZE + i, row);
+                    endChange();
+                    return;
+                }
+            }
+        }
+    }
+    
+    // For a source that only appended rows: the existing rows stay put and
+    // only the new tail is announced
+    public void grow() {
+        int oldSize = size;
+        size = source.size();
+        if (size <= oldSize) {
+            return;
+        }
+        // The last page may have been cached or prefetched while it was still short
+        pages.remove(oldSize / PAGE_SIZE);
+        generation++;
+        prefetching.clear();
+        beginChange();
+        nextAdd(oldSize, size);
+        endChange();
+    }
+    
+    private List<Student> loadPage(int pageIndex) {
+        List<Student> page = pages.get(pageIndex);
+        if (page == null) {
+            page = source.fetchPage(pageIndex * PAGE_SIZE, PAGE_SIZE);
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+    
+    private void prefetch(int pageIndex) {
+        if (pages.containsKey(pageIndex) || !prefetching.add(pageIndex)) {
+            return;
+        }
+        StudentPageSource from = source;
+        long startedAt = generation;
+        prefetcher.execute(() -> {
+            List<Student> page;
+            try {
+                page = from.fetchPage(pageIndex * PAGE_SIZE, PAGE_SIZE);
+            } catch (RuntimeException e) {
+                // get() reads the page itself when the table reaches it
+                Metrics.error("ui", e);
+                page = null;
+            }
+            List<Student> fetched = page;
+            fxThread.execute(() -> {
+                if (generation == startedAt && prefetching.remove(pageIndex) && fetched != null) {
+                    pages.putIfAbsent(pageIndex, fetched);
+                }
+            });
+        });
+    }
+    
+    private void dropPages() {
+        pages.clear();
+        prefetching.clear();
+        generation++;
+    }
+    
+    // Placeholder for the rows a refresh removed; listeners only need the count,
+    // so the old rows are not materialized
+    private static class StaleRows extends AbstractList<Student> {
+        private final int size;
+        
+        StaleRows(int size) {
+            this.size = size;
+        }
+        
+        @Override
+        public Student get(int index) {
+            return null;
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
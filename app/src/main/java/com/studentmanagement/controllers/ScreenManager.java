@@ -0,0 +1,156 @@
+package com.studentmanagement.controllers;
+
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Loads each screen's FXML once and keeps its scene and controller, so
+// navigating is a setScene() instead of a parse and a new scene graph.
+// preload() parses screens on a background thread; building nodes off the
+// FX thread is fine as long as they are not yet part of a showing scene.
+// show() never waits for a preload: if one is still running, the switch
+// happens on the FX thread once it completes. Controllers implementing
+// ManagedScreen reload their data in onShow(). All methods are called on
+// the FX thread.
+public class ScreenManager {
+    public enum Screen {
+        LOGIN("/views/login.fxml", "Student Management System - Login", 800, 500),
+        DASHBOARD("/views/dashboard.fxml", "Student Management System - Dashboard", 1000, 600),
+        STUDENTS("/views/student_management.fxml", "Student Management", 1100, 700);
+        
+        private final String resource;
+        private final String title;
+        private final double width;
+        private final double height;
+        
+        Screen(String resource, String title, double width, double height) {
+            this.resource = resource;
+            this.title = title;
+            this.width = width;
+            this.height = height;
+        }
+    }
+    
+    private static final LatencyHistogram showLatency = Metrics.timer("ui.screens.show");
+    private static final ExecutorService preloader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "screen-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private static final Map<Screen, CompletableFuture<LoadedScreen>> screens = new EnumMap<>(Screen.class);
+    private static Stage stage;
+    private static LoadedScreen current;
+    // Bumped by every show(), so a preload that completes late does not
+    // switch away from a screen the user navigated to since
+    private static long navigation;
+    
+    public static void init(Stage primaryStage) {
+        stage = primaryStage;
+    }
+    
+    // Starts loading screens that are not loaded yet, in the given order
+    public static void preload(Screen... toLoad) {
+        for (Screen screen : toLoad) {
+            screens.computeIfAbsent(screen, s -> CompletableFuture.supplyAsync(() -> load(s), preloader));
+        }
+    }
+    
+    // Switches the stage to the screen, loading it here if it was never
+    // preloaded. If its preload is still running, returns at once and
+    // switches when the preload completes. Returns false if the FXML could
+    // not be loaded; a preload that fails later is only logged.
+    public static boolean show(Screen screen) {
+        long start = System.nanoTime();
+        long request = ++navigation;
+        CompletableFuture<LoadedScreen> pending = screens.get(screen);
+        if (pending != null && !pending.isDone()) {
+            pending.whenCompleteAsync((loaded, failure) -> {
+                if (failure != null) {
+                    // Every show() waiting on the preload gets here; report it once
+                    if (screens.get(screen) == pending) {
+                        forgetFailedLoad(screen, failure);
+                    }
+                } else if (request == navigation) {
+                    switchTo(screen, loaded, start);
+                }
+            }, Platform::runLater);
+            return true;
+        }
+        
+        LoadedScreen next;
+        try {
+            if (pending != null) {
+                next = pending.join();
+            } else {
+                next = load(screen);
+                screens.put(screen, CompletableFuture.completedFuture(next));
+            }
+        } catch (CompletionException | UncheckedIOException e) {
+            forgetFailedLoad(screen, e);
+            return false;
+        }
+        switchTo(screen, next, start);
+        return true;
+    }
+    
+    // Forgets the load so the next attempt tries again
+    private static void forgetFailedLoad(Screen screen, Throwable failure) {
+        screens.remove(screen);
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        Metrics.error("ui", cause instanceof UncheckedIOException ? cause.getCause() : cause);
+    }
+    
+    private static void switchTo(Screen screen, LoadedScreen next, long start) {
+        if (current != null && current != next && current.controller instanceof ManagedScreen) {
+            ((ManagedScreen) current.controller).onHide();
+        }
+        if (next.scene == null) {
+            next.scene = new Scene(next.root, screen.width, screen.height);
+        }
+        stage.setScene(next.scene);
+        stage.setTitle(screen.title);
+        stage.centerOnScreen();
+        current = next;
+        if (next.controller instanceof ManagedScreen) {
+            ((ManagedScreen) next.controller).onShow();
+        }
+        showLatency.record(System.nanoTime() - start);
+    }
+    
+    private static LoadedScreen load(Screen screen) {
+        FXMLLoader loader = new FXMLLoader(ScreenManager.class.getResource(screen.resource));
+        try {
+            Parent root = loader.load();
+            return new LoadedScreen(root, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static class LoadedScreen {
+        private final Parent root;
+        private final Object controller;
+        // Created on the FX thread the first time the screen is shown
+        private Scene scene;
+        
+        LoadedScreen(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+}
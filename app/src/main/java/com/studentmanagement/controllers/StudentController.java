@@ -0,0 +1,683 @@
+package com.studentmanagement.controllers;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentChangeEvent;
+import com.studentmanagement.services.StudentConflictException;
+import com.studentmanagement.services.StudentEventBus;
+import com.studentmanagement.services.StudentExportService;
+import com.studentmanagement.services.StudentImportService;
+import com.studentmanagement.services.StudentPageSource;
+import com.studentmanagement.services.StudentQuery;
+import com.studentmanagement.services.StudentRepository;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import com.studentmanagement.utils.ValidationUtils;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class StudentController implements ManagedScreen {
+    
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+    // From the query starting to its rows being in the table, after the debounce
+    private static final LatencyHistogram searchLatency = Metrics.timer("ui.students.search");
+    private static final LatencyHistogram applyChangesLatency = Metrics.timer("ui.students.applyChanges");
+    private static final ScheduledExecutorService searchExecutor =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "student-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    
+    @FXML private TableView<Student> studentTable;
+    @FXML private TableColumn<Student, String> idColumn;
+    @FXML private TableColumn<Student, String> nameColumn;
+    @FXML private TableColumn<Student, String> lastNameColumn;
+    @FXML private TableColumn<Student, String> departmentColumn;
+    @FXML private TableColumn<Student, Double> gpaColumn;
+    @FXML private TableColumn<Student, String> emailColumn;
+    
+    @FXML private TextField studentIdField;
+    @FXML private TextField firstNameField;
+    @FXML private TextField lastNameField;
+    @FXML private DatePicker dobPicker;
+    @FXML private TextField emailField;
+    @FXML private TextField phoneField;
+    @FXML private ComboBox<String> departmentCombo;
+    @FXML private TextField gpaField;
+    @FXML private Spinner<Integer> yearSpinner;
+    @FXML private TextField searchField;
+    
+    @FXML private Button addButton;
+    @FXML private Button updateButton;
+    @FXML private Button deleteButton;
+    @FXML private Button clearButton;
+    @FXML private Button backButton;
+    @FXML private Button importButton;
+    @FXML private Button exportButton;
+    @FXML private ProgressBar exportProgressBar;
+    @FXML private Label importStatusLabel;
+    @FXML private Label searchStatsLabel;
+    @FXML private Label studentCountLabel;
+    
+    private PagedStudentList studentList;
+    private StudentRepository repository;
+    private StudentEventBus.Subscription changeSubscription;
+    private ScheduledFuture<?> pendingSearch;
+    private long searchGeneration;
+    private List<Student> searchResults;
+    private final Map<TableColumn<Student, ?>, StudentQuery.SortField> sortFields = new HashMap<>();
+    private StudentQuery.SortField sortField;
+    private boolean sortDescending;
+    
+    @FXML
+    private void initialize() {
+        // Initialize table columns
+        idColumn.setCellValueFactory(new PropertyValueFactory<>("studentId"));
+        nameColumn.setCellValueFactory(new PropertyValueFactory<>("firstName"));
+        departmentColumn.setCellValueFactory(new PropertyValueFactory<>("department"));
+        gpaColumn.setCellValueFactory(new PropertyValueFactory<>("gpa"));
+        
+        // Column clicks run a repository query instead of sorting the rows in place
+        sortFields.put(idColumn, StudentQuery.SortField.STUDENT_ID);
+        sortFields.put(nameColumn, StudentQuery.SortField.FIRST_NAME);
+        sortFields.put(lastNameColumn, StudentQuery.SortField.LAST_NAME);
+        sortFields.put(departmentColumn, StudentQuery.SortField.DEPARTMENT);
+        sortFields.put(gpaColumn, StudentQuery.SortField.GPA);
+        sortFields.put(emailColumn, StudentQuery.SortField.EMAIL);
+        studentTable.setSortPolicy(table -> {
+            applySortOrder();
+            return true;
+        });
+        
+        // Setup department combo box
+        departmentCombo.getItems().addAll(Student.DEPARTMENTS);
+        
+        // Setup year spinner
+        SpinnerValueFactory<Integer> yearFactory = 
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(2000, 2024, 2023);
+        yearSpinner.setValueFactory(yearFactory);
+        
+        // Setup table selection listener
+        studentTable.getSelectionModel().selectedItemProperty().addListener(
+            (obs, oldSelection, newSelection) -> {
+                if (newSelection != null) {
+                    fillFormWithStudent(newSelection);
+                    updateButton.setDisable(false);
+                    deleteButton.setDisable(false);
+                    addButton.setDisable(true);
+                }
+            });
+        
+        // Search as the user types
+        searchField.textProperty().addListener((obs, oldText, newText) -> scheduleSearch(newText, SEARCH_DEBOUNCE_MS));
+        
+        // Initially disable update and delete buttons
+        updateButton.setDisable(true);
+        deleteButton.setDisable(true);
+    }
+    
+    // The screen is kept between visits; rows are read again in case the
+    // roster changed while it was hidden, and the form starts out empty
+    @Override
+    public void onShow() {
+        repository = StudentRepository.getShared();
+        if (studentList == null) {
+            studentList = new PagedStudentList(currentRows());
+            studentTable.setItems(studentList);
+        } else {
+            // Also ends a search left open on the last visit
+            handleClearForm();
+            showRows(currentRows());
+        }
+        updateStudentCount();
+        // Edits from this screen, the API and other app instances all arrive
+        // here, batched to one update per FX pulse
+        changeSubscription = repository.getEvents().subscribe(this::applyChanges, Platform::runLater);
+    }
+    
+    @Override
+    public void onHide() {
+        changeSubscription.cancel();
+        // Drop a search still in flight; its results would land on a hidden table
+        ++searchGeneration;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+            pendingSearch = null;
+        }
+    }
+    
+    private void applyChanges(List<StudentChangeEvent> changes) {
+        long start = System.nanoTime();
+        boolean reset = false;
+        boolean membershipChanged = false;
+        boolean reordered = false;
+        for (StudentChangeEvent change : changes) {
+            if (change.getType() == StudentChangeEvent.Type.RESET) {
+                reset = true;
+            } else if (change.changesMembership()) {
+                membershipChanged = true;
+            } else if (sortField != null
+                    && sortField.comparator().compare(change.getBefore(), change.getAfter()) != 0) {
+                reordered = true;
+            }
+        }
+        
+        if (reset) {
+            // The roster was reloaded, or more changed than was worth queuing
+            repository = StudentRepository.getShared();
+            showRows(currentRows());
+        } else if (searchResults != null) {
+            // An edit can change which rows match, so the search is run again
+            scheduleSearch(searchField.getText(), 0);
+        } else if (membershipChanged || reordered) {
+            if (sortField == null && !reordered && onlyAdditions(changes)) {
+                // New students are appended to the roster; the rows above stay put
+                applyUpdates(changes);
+                studentList.grow();
+            } else {
+                // Removals and sort order changes move rows around; the visible
+                // page is read again, the rest when it is scrolled to
+                studentList.refresh();
+            }
+        } else {
+            applyUpdates(changes);
+        }
+        updateStudentCount();
+        applyChangesLatency.record(System.nanoTime() - start);
+    }
+    
+    private static boolean onlyAdditions(List<StudentChangeEvent> changes) {
+        for (StudentChangeEvent change : changes) {
+            if (change.changesMembership() && change.getType() != StudentChangeEvent.Type.ADDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void applyUpdates(List<StudentChangeEvent> changes) {
+        for (StudentChangeEvent change : changes) {
+            if (change.getType() == StudentChangeEvent.Type.UPDATED) {
+                studentList.replace(change.getBefore(), change.getAfter());
+            }
+        }
+    }
+    
+    private void showRows(StudentPageSource source) {
+        studentList.setSource(source);
+        updateStudentCount();
+    }
+    
+    // Called by the table whenever its sort order changes; only the first
+    // sort column is used
+    private void applySortOrder() {
+        StudentQuery.SortField field = null;
+        boolean descending = false;
+        if (!studentTable.getSortOrder().isEmpty()) {
+            TableColumn<Student, ?> column = studentTable.getSortOrder().get(0);
+            field = sortFields.get(column);
+            descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        if (field == sortField && descending == sortDescending) {
+            return;
+        }
+        sortField = field;
+        sortDescending = descending;
+        showRows(currentRows());
+    }
+    
+    // Roster or search results, in the table's current sort order
+    private StudentPageSource currentRows() {
+        if (searchResults != null) {
+            return StudentPageSource.of(sortedSearchResults());
+        }
+        if (sortField == null) {
+            return repository;
+        }
+        return repository.query(StudentQuery.all().sortBy(sortField, sortDescending));
+    }
+    
+    private List<Student> sortedSearchResults() {
+        if (sortField == null) {
+            return searchResults;
+        }
+        Comparator<Student> order = sortField.comparator();
+        List<Student> sorted = new ArrayList<>(searchResults);
+        sorted.sort(sortDescending ? order.reversed() : order);
+        return sorted;
+    }
+    
+    private void updateStudentCount() {
+        studentCountLabel.setText(String.valueOf(repository.size()));
+    }
+    
+    private void fillFormWithStudent(Student student) {
+        studentIdField.setText(student.getStudentId());
+        firstNameField.setText(student.getFirstName());
+        lastNameField.setText(student.getLastName());
+        dobPicker.setValue(student.getDateOfBirth());
+        emailField.setText(student.getEmail());
+        phoneField.setText(student.getPhone());
+        departmentCombo.setValue(student.getDepartment());
+        gpaField.setText(String.valueOf(student.getGpa()));
+        yearSpinner.getValueFactory().setValue(student.getEnrollmentYear());
+    }
+    
+    @FXML
+    private void handleAddStudent() {
+        if (!validateForm()) {
+            return;
+        }
+        
+        Student student = createStudentFromForm();
+        
+        // Check if ID already exists
+        if (!repository.add(student)) {
+            showAlert("Error", "Student ID already exists!");
+            return;
+        }
+        
+        clearForm();
+        showAlert("Success", "Student added successfully!");
+    }
+    
+    @FXML
+    private void handleUpdateStudent() {
+        Student selectedStudent = studentTable.getSelectionModel().getSelectedItem();
+        
+        if (selectedStudent == null) {
+            showAlert("Error", "Please select a student to update!");
+            return;
+        }
+        
+        if (!validateForm()) {
+            return;
+        }
+        
+        // Confirm update
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirm Update");
+        alert.setHeaderText("Update Student Record");
+        alert.setContentText("Are you sure you want to update this student's information?");
+        
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            // Update student
+            Student updatedStudent = createStudentFromForm();
+            // The edit is based on the record as it was when selected
+            updatedStudent.setVersion(selectedStudent.getVersion());
+            
+            // Fails if the ID changed to one that already exists
+            try {
+                if (!repository.update(selectedStudent.getStudentId(), updatedStudent)) {
+                    showAlert("Error", "New Student ID already exists!");
+                    return;
+                }
+            } catch (StudentConflictException e) {
+                showConflict(e);
+                return;
+            }
+            
+            clearForm();
+            
+            showAlert("Success", "Student updated successfully!");
+        }
+    }
+    
+    @FXML
+    private void handleDeleteStudent() {
+        Student selectedStudent = studentTable.getSelectionModel().getSelectedItem();
+        
+        if (selectedStudent == null) {
+            showAlert("Error", "Please select a student to delete!");
+            return;
+        }
+        
+        // Confirm deletion
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirm Deletion");
+        alert.setHeaderText("Delete Student Record");
+        alert.setContentText("Are you sure you want to delete " + 
+                            selectedStudent.getFullName() + "?");
+        
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            try {
+                repository.delete(selectedStudent.getStudentId(), selectedStudent.getVersion());
+            } catch (StudentConflictException e) {
+                showConflict(e);
+                return;
+            }
+            clearForm();
+            showAlert("Success", "Student deleted successfully!");
+            
+            // Reset buttons
+            updateButton.setDisable(true);
+            deleteButton.setDisable(true);
+            addButton.setDisable(false);
+        }
+    }
+    
+    @FXML
+    private void handleClearForm() {
+        clearForm();
+        studentTable.getSelectionModel().clearSelection();
+        updateButton.setDisable(true);
+        deleteButton.setDisable(true);
+        addButton.setDisable(false);
+    }
+    
+    @FXML
+    private void handleSearch() {
+        scheduleSearch(searchField.getText(), 0);
+    }
+    
+    // Runs the query on the search thread after a pause in typing. A newer
+    // keystroke cancels the pending or running query, and only the latest
+    // result is published back to the table.
+    private void scheduleSearch(String text, long delayMs) {
+        long generation = ++searchGeneration;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        
+        String searchText = text == null ? "" : text.trim();
+        if (searchText.isEmpty()) {
+            pendingSearch = null;
+            if (searchResults != null) {
+                searchResults = null;
+                showRows(currentRows());
+            }
+            return;
+        }
+        
+        pendingSearch = searchExecutor.schedule(() -> {
+            try {
+                long start = System.nanoTime();
+                List<Student> filtered = repository.search(searchText);
+                Platform.runLater(() -> publishSearchResults(generation, filtered, start));
+            } catch (CancellationException e) {
+                // Superseded by a newer query
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void publishSearchResults(long generation, List<Student> filtered, long start) {
+        if (generation != searchGeneration) {
+            return;
+        }
+        searchResults = filtered;
+        showRows(currentRows());
+        searchLatency.record(System.nanoTime() - start);
+        searchStatsLabel.setText("Search " + repository.getSearchLatency().summary());
+    }
+    
+    @FXML
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Students");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV or JSON lines", "*.csv", "*.jsonl", "*.ndjson"),
+            new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = chooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        // Parsing, validation and adding all run on a worker thread; the
+        // repository takes its own write lock per batch, and the table picks
+        // up the new rows from its change events
+        StudentRepository target = repository;
+        Task<StudentImportService.ImportResult> task = new Task<>() {
+            @Override
+            protected StudentImportService.ImportResult call() throws Exception {
+                return StudentImportService.importStudents(file,
+                    StudentImportService.defaultReportFile(file),
+                    target::addAll,
+                    rows -> updateMessage("Importing... " + rows + " rows"));
+            }
+        };
+        importStatusLabel.textProperty().bind(task.messageProperty());
+        importButton.setDisable(true);
+        
+        task.setOnSucceeded(event -> {
+            StudentImportService.ImportResult result = task.getValue();
+            String message = result.toString();
+            finishImport(message);
+            if (result.getRejectReport() != null) {
+                message += "\n\nRejected rows were written to:\n" + result.getRejectReport();
+            }
+            showAlert("Import Complete", message);
+        });
+        task.setOnFailed(event -> {
+            finishImport("Import failed");
+            showAlert("Import Failed", String.valueOf(task.getException().getMessage()));
+        });
+        
+        Thread worker = new Thread(task, "student-import");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    private void finishImport(String status) {
+        importStatusLabel.textProperty().unbind();
+        importStatusLabel.setText(status);
+        importButton.setDisable(false);
+    }
+    
+    // Exports the rows the table currently shows, in the same order
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Students");
+        chooser.setInitialFileName("students.csv");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV", "*.csv"),
+            new FileChooser.ExtensionFilter("CSV, gzipped", "*.csv.gz"),
+            new FileChooser.ExtensionFilter("JSON lines", "*.jsonl"),
+            new FileChooser.ExtensionFilter("JSON lines, gzipped", "*.jsonl.gz"));
+        File chosen = chooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (chosen == null) {
+            return;
+        }
+        
+        // Some platforms don't append the extension of the selected filter
+        String name = chosen.getName().toLowerCase();
+        File file = chosen;
+        if (!name.endsWith(".csv") && !name.endsWith(".jsonl") && !name.endsWith(".gz")) {
+            String extension = chooser.getSelectedExtensionFilter() != null
+                ? chooser.getSelectedExtensionFilter().getExtensions().get(0).substring(1) : ".csv";
+            file = new File(chosen.getParentFile(), chosen.getName() + extension);
+        }
+        File target = file;
+        
+        // Search results are already a private list. Roster queries are read by
+        // keyset a chunk at a time under the repository's read lock, so the
+        // export thread can read them while edits continue.
+        StudentExportService.ChunkSource source;
+        if (searchResults != null) {
+            source = StudentExportService.chunksOf(sortedSearchResults());
+        } else {
+            source = StudentExportService.chunksOf(repository.query(
+                StudentQuery.all().sortBy(sortField != null ? sortField : StudentQuery.SortField.STUDENT_ID, sortDescending)));
+        }
+        long total = studentList.size();
+        
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return StudentExportService.export(source, target, rows -> {
+                    updateProgress(rows, total);
+                    updateMessage("Exporting... " + rows + " / " + total + " rows");
+                });
+            }
+        };
+        exportProgressBar.progressProperty().bind(task.progressProperty());
+        importStatusLabel.textProperty().bind(task.messageProperty());
+        setExportRunning(true);
+        
+        task.setOnSucceeded(event -> {
+            setExportRunning(false);
+            importStatusLabel.setText("Exported " + task.getValue() + " rows to " + target.getName());
+        });
+        task.setOnFailed(event -> {
+            setExportRunning(false);
+            importStatusLabel.setText("Export failed");
+            showAlert("Export Failed", String.valueOf(task.getException().getMessage()));
+        });
+        
+        Thread worker = new Thread(task, "student-export");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    private void setExportRunning(boolean running) {
+        if (!running) {
+            exportProgressBar.progressProperty().unbind();
+            importStatusLabel.textProperty().unbind();
+        }
+        exportProgressBar.setVisible(running);
+        exportProgressBar.setManaged(running);
+        exportButton.setDisable(running);
+    }
+    
+    @FXML
+    private void handleBackToDashboard() {
+        ScreenManager.show(ScreenManager.Screen.DASHBOARD);
+    }
+    
+    private boolean validateForm() {
+        // Validate Student ID
+        if (!ValidationUtils.isValidStudentId(studentIdField.getText())) {
+            showAlert("Validation Error", "Please enter a valid Student ID (6 to " + ValidationUtils.MAX_ID_LENGTH + " characters)");
+            return false;
+        }
+        
+        // Validate Names
+        if (!ValidationUtils.isValidName(firstNameField.getText())) {
+            showAlert("Validation Error", "Please enter a valid First Name");
+            return false;
+        }
+        
+        if (!ValidationUtils.isValidName(lastNameField.getText())) {
+            showAlert("Validation Error", "Please enter a valid Last Name");
+            return false;
+        }
+        
+        // Validate Date of Birth
+        if (dobPicker.getValue() == null) {
+            showAlert("Validation Error", "Please select Date of Birth");
+            return false;
+        }
+        
+        if (!ValidationUtils.isAtLeast16YearsOld(dobPicker.getValue())) {
+            showAlert("Validation Error", "Student must be at least 16 years old");
+            return false;
+        }
+        
+        // Validate Email
+        if (!ValidationUtils.isValidEmail(emailField.getText())) {
+            showAlert("Validation Error", "Please enter a valid Email address");
+            return false;
+        }
+        
+        // Validate Phone
+        if (!ValidationUtils.isValidPhone(phoneField.getText())) {
+            showAlert("Validation Error", "Please enter a valid Phone number");
+            return false;
+        }
+        
+        // Validate Department
+        if (departmentCombo.getValue() == null) {
+            showAlert("Validation Error", "Please select a Department");
+            return false;
+        }
+        
+        // Validate GPA
+        try {
+            double gpa = Double.parseDouble(gpaField.getText());
+            if (!ValidationUtils.isValidGPA(gpa)) {
+                showAlert("Validation Error", "GPA must be between 0.0 and 4.0");
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            showAlert("Validation Error", "Please enter a valid GPA");
+            return false;
+        }
+        
+        return true;
+    }
+    
+    private Student createStudentFromForm() {
+        return new Student(
+            studentIdField.getText().trim(),
+            firstNameField.getText().trim(),
+            lastNameField.getText().trim(),
+            dobPicker.getValue(),
+            emailField.getText().trim(),
+            phoneField.getText().trim(),
+            departmentCombo.getValue(),
+            Double.parseDouble(gpaField.getText()),
+            yearSpinner.getValue()
+        );
+    }
+    
+    private void clearForm() {
+        studentIdField.clear();
+        firstNameField.clear();
+        lastNameField.clear();
+        dobPicker.setValue(null);
+        emailField.clear();
+        phoneField.clear();
+        departmentCombo.setValue(null);
+        gpaField.clear();
+        yearSpinner.getValueFactory().setValue(2023);
+        searchField.clear();
+    }
+    
+    // Someone else saved or deleted the record since it was selected. Their
+    // version is already in the table by the time the alert closes.
+    private void showConflict(StudentConflictException e) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Edit Conflict");
+        alert.setHeaderText("Student Record Changed");
+        alert.setContentText(e.getCurrent() == null
+                ? "This student was deleted by another user. Your changes were not saved."
+                : "This student was changed by another user. Your changes were not saved; "
+                        + "review the current record and try again.");
+        alert.showAndWait();
+        
+        clearForm();
+        studentTable.getSelectionModel().clearSelection();
+        updateButton.setDisable(true);
+        deleteButton.setDisable(true);
+        addButton.setDisable(false);
+    }
+    
+    private void showAlert(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -0,0 +1,259 @@
+package com.studentmanagement.models;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Column-per-field roster: primitive arrays for GPA, enrollment year, version
+// and date of birth (as epoch day), a one-byte dictionary code for department
+// and pooled name strings. view() hands out flyweights that read the columns
+// in place, so the roster itself holds no Student objects; toStudent() copies
+// a row out when a real Student is needed. Not thread-safe: fill it on one
+// thread, then any number of threads may read it.
+public class ColumnarStudentStore {
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int MAX_DEPARTMENTS = 256;
+    
+    private String[] studentIds;
+    private String[] firstNames;
+    private String[] lastNames;
+    private String[] emails;
+    private String[] phones;
+    private int[] dateOfBirth;
+    private byte[] department;
+    private double[] gpa;
+    private int[] enrollmentYear;
+    private long[] version;
+    private int size;
+    
+    private final List<String> departmentDictionary = new ArrayList<>();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private final Map<String, String> namePool = new HashMap<>();
+    
+    public ColumnarStudentStore() {
+        this(1024);
+    }
+    
+    public ColumnarStudentStore(int capacity) {
+        int initial = Math.max(16, capacity);
+        studentIds = new String[initial];
+        firstNames = new String[initial];
+        lastNames = new String[initial];
+        emails = new String[initial];
+        phones = new String[initial];
+        dateOfBirth = new int[initial];
+        department = new byte[initial];
+        gpa = new double[initial];
+        enrollmentYear = new int[initial];
+        version = new long[initial];
+        for (String name : Student.DEPARTMENTS) {
+            departmentCode(name);
+        }
+    }
+    
+    public static ColumnarStudentStore of(Collection<Student> students) {
+        ColumnarStudentStore store = new ColumnarStudentStore(students.size());
+        for (Student student : students) {
+            store.add(student);
+        }
+        return store;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    // Returns the new row
+    public int add(Student student) {
+        if (size == gpa.length) {
+            grow();
+        }
+        write(size, student);
+        return size++;
+    }
+    
+    public void set(int row, Student student) {
+        checkRow(row);
+        write(row, student);
+    }
+    
+    // Moves the last row into the gap, like StudentRepository; returns the
+    // row the moved student used to be in, or -1 if none moved
+    public int remove(int row) {
+        checkRow(row);
+        int last = --size;
+        if (row != last) {
+            studentIds[row] = studentIds[last];
+            firstNames[row] = firstNames[last];
+            lastNames[row] = lastNames[last];
+            emails[row] = emails[last];
+            phones[row] = phones[last];
+            dateOfBirth[row] = dateOfBirth[last];
+            department[row] = department[last];
+            gpa[row] = gpa[last];
+            enrollmentYear[row] = enrollmentYear[last];
+            version[row] = version[last];
+        }
+        studentIds[last] = null;
+        firstNames[last] = null;
+        lastNames[last] = null;
+        emails[last] = null;
+        phones[last] = null;
+        return row != last ? last : -1;
+    }
+    
+    // Read-only view of one row; it shows whatever is in that row later on,
+    // including a different student after a remove() moved one into it
+    public StudentView view(int row) {
+        checkRow(row);
+        return new StudentView(row);
+    }
+    
+    // Standalone copy, e.g. to edit and save
+    public Student toStudent(int row) {
+        checkRow(row);
+        Student student = new Student(studentIds[row], firstNames[row], lastNames[row], dateAt(row),
+                emails[row], phones[row], departmentAt(row), gpa[row], enrollmentYear[row]);
+        student.setVersion(version[row]);
+        return student;
+    }
+    
+    // Column accessors for scans
+    public double gpaAt(int row) {
+        return gpa[row];
+    }
+    
+    public int enrollmentYearAt(int row) {
+        return enrollmentYear[row];
+    }
+    
+    public int departmentCodeAt(int row) {
+        return department[row] & 0xFF;
+    }
+    
+    public String departmentName(int code) {
+        return departmentDictionary.get(code);
+    }
+    
+    // Codes run from 0 to departmentCount() - 1
+    public int departmentCount() {
+        return departmentDictionary.size();
+    }
+    
+    private void write(int row, Student student) {
+        int code = departmentCode(student.getDepartment());
+        studentIds[row] = student.getStudentId();
+        firstNames[row] = pooled(student.getFirstName());
+        lastNames[row] = pooled(student.getLastName());
+        emails[row] = student.getEmail();
+        phones[row] = student.getPhone();
+        dateOfBirth[row] = toEpochDay(student.getDateOfBirth());
+        department[row] = (byte) code;
+        gpa[row] = student.getGpa();
+        enrollmentYear[row] = student.getEnrollmentYear();
+        version[row] = student.getVersion();
+    }
+    
+    private String pooled(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = namePool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+    
+    private int departmentCode(String name) {
+        Integer code = departmentCodes.get(name);
+        if (code == null) {
+            if (departmentDictionary.size() == MAX_DEPARTMENTS) {
+                throw new IllegalStateException("Too many distinct departments: " + MAX_DEPARTMENTS);
+            }
+            code = departmentDictionary.size();
+            departmentDictionary.add(name);
+            departmentCodes.put(name, code);
+        }
+        return code;
+    }
+    
+    private String departmentAt(int row) {
+        return departmentDictionary.get(department[row] & 0xFF);
+    }
+    
+    private LocalDate dateAt(int row) {
+        return dateOfBirth[row] == NO_DATE ? null : LocalDate.ofEpochDay(dateOfBirth[row]);
+    }
+    
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+    
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+    
+    private void grow() {
+        int capacity = gpa.length * 2;
+        studentIds = Arrays.copyOf(studentIds, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        phones = Arrays.copyOf(phones, capacity);
+        dateOfBirth = Arrays.copyOf(dateOfBirth, capacity);
+        department = Arrays.copyOf(department, capacity);
+        gpa = Arrays.copyOf(gpa, capacity);
+        enrollmentYear = Arrays.copyOf(enrollmentYear, capacity);
+        version = Arrays.copyOf(version, capacity);
+    }
+    
+    // Flyweight over one row: just the row number, every getter reads the
+    // columns. The date of birth is the only value built on each call.
+    public final class StudentView {
+        private final int row;
+        
+        private StudentView(int row) {
+            this.row = row;
+        }
+        
+        public int getRow() { return row; }
+        
+        public String getStudentId() { return studentIds[row]; }
+        
+        public String getFirstName() { return firstNames[row]; }
+        
+        public String getLastName() { return lastNames[row]; }
+        
+        public LocalDate getDateOfBirth() { return dateAt(row); }
+        
+        public String getEmail() { return emails[row]; }
+        
+        public String getPhone() { return phones[row]; }
+        
+        public String getDepartment() { return departmentAt(row); }
+        
+        public double getGpa() { return gpa[row]; }
+        
+        public int getEnrollmentYear() { return enrollmentYear[row]; }
+        
+        public long getVersion() { return version[row]; }
+        
+        public String getFullName() {
+            return getFirstName() + " " + getLastName();
+        }
+        
+        public Student toStudent() {
+            return ColumnarStudentStore.this.toStudent(row);
+        }
+        
+        @Override
+        public String toString() {
+            return "Student{ID='" + getStudentId() + "', Name='" + getFullName() +
+                   "', Department='" + getDepartment() + "', GPA=" + getGpa() + "}";
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.studentmanagement.models;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class Student {
+    public static final List<String> DEPARTMENTS = List.of(
+        "Computer Science", 
+        "Mathematics", 
+        "Physics", 
+        "Chemistry", 
+        "Biology", 
+        "Engineering", 
+        "Business", 
+        "Economics"
+    );
+    
     private String studentId;
     private String firstName;
     private String lastName;
@@ -12,6 +24,8 @@ public class Student {
     private String department;
     private double gpa;
     private int enrollmentYear;
+    // Bumped on every saved update; an edit based on an older version is a conflict
+    private long version;
     
     public Student() {}
     
@@ -57,13 +71,16 @@ public class Student {
     public int getEnrollmentYear() { return enrollmentYear; }
     public void setEnrollmentYear(int enrollmentYear) { this.enrollmentYear = enrollmentYear; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
     public String getFullName() {
-        return firstName + " " + lastName;
+        return getFirstName() + " " + getLastName();
     }
     
     @Override
     public String toString() {
-        return "Student{ID='" + studentId + "', Name='" + getFullName() + 
-               "', Department='" + department + "', GPA=" + gpa + "}";
+        return "Student{ID='" + getStudentId() + "', Name='" + getFullName() + 
+               "', Department='" + getDepartment() + "', GPA=" + getGpa() + "}";
     }
 }
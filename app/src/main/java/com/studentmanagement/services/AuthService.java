@@ -0,0 +1,171 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.User;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import com.studentmanagement.utils.PasswordHasher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Users are indexed by username and reloaded only when the stored users change.
+// Passwords are stored as PBKDF2 hashes; plaintext entries from older files
+// are hashed and written back the first time the file is loaded.
+// Each successful authenticate() opens a session; the JavaFX screens share
+// one local session through login()/getCurrentUser()/isAdmin().
+public class AuthService {
+    private static final SessionManager sessions = new SessionManager();
+    private static volatile Session localSession;
+    
+    private static volatile Map<String, User> usersByName = new ConcurrentHashMap<>();
+    private static volatile long usersStamp = -1;
+    // Checked when the username is unknown, so a miss costs the same as a wrong password
+    private static final String UNKNOWN_USER_HASH = PasswordHasher.hash("unknown-user");
+    
+    private static final LatencyHistogram loginLatency = Metrics.timer("auth.login");
+    private static final LongAdder loginSuccesses = Metrics.counter("auth.login.successes");
+    private static final LongAdder loginFailures = Metrics.counter("auth.login.failures");
+    
+    static {
+        Metrics.gauge("auth.sessions.active", sessions::getActiveSessions);
+    }
+    
+    // Logs in the desktop user, replacing any previous local session
+    public static boolean login(String username, String password) {
+        User user = verifyCredentials(username, password);
+        if (user == null) {
+            return false;
+        }
+        Session previous = localSession;
+        localSession = sessions.create(user, false);
+        if (previous != null) {
+            sessions.invalidate(previous.getToken());
+        }
+        return true;
+    }
+    
+    // Opens a new session for a remote client; null if the credentials are wrong.
+    // Safe to call from several threads at once.
+    public static Session authenticate(String username, String password) {
+        User user = verifyCredentials(username, password);
+        return user != null ? sessions.create(user) : null;
+    }
+    
+    public static Session getSession(String token) {
+        return sessions.get(token);
+    }
+    
+    public static void logout(String token) {
+        sessions.invalidate(token);
+    }
+    
+    public static SessionManager getSessionManager() {
+        return sessions;
+    }
+    
+    private static User verifyCredentials(String username, String password) {
+        long start = System.nanoTime();
+        try {
+            User user = findUser(username);
+            if (user == null) {
+                PasswordHasher.verify(password, UNKNOWN_USER_HASH);
+                loginFailures.increment();
+                return null;
+            }
+            if (!PasswordHasher.verify(password, user.getPassword())) {
+                loginFailures.increment();
+                return null;
+            }
+            if (PasswordHasher.needsRehash(user.getPassword())) {
+                user = rehash(user, password);
+            }
+            loginSuccesses.increment();
+            return user;
+        } finally {
+            loginLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    public static void logout() {
+        Session session = localSession;
+        localSession = null;
+        if (session != null) {
+            sessions.invalidate(session.getToken());
+        }
+    }
+    
+    public static Session getCurrentSession() {
+        return localSession;
+    }
+    
+    // The local user's account; the password field is not filled in
+    public static User getCurrentUser() {
+        Session session = localSession;
+        return session != null ? new User(session.getUsername(), null, session.getRole()) : null;
+    }
+    
+    public static boolean isAdmin() {
+        Session session = localSession;
+        return session != null && session.isAdmin();
+    }
+    
+    public static User findUser(String username) {
+        refreshUsers();
+        return username == null ? null : usersByName.get(username);
+    }
+    
+    public static LatencyHistogram getLoginLatency() {
+        return loginLatency;
+    }
+    
+    public static long getLoginSuccesses() {
+        return loginSuccesses.sum();
+    }
+    
+    public static long getLoginFailures() {
+        return loginFailures.sum();
+    }
+    
+    private static void refreshUsers() {
+        if (DataServices.get().getUsersRevision() == usersStamp) {
+            return;
+        }
+        synchronized (AuthService.class) {
+            if (DataServices.get().getUsersRevision() == usersStamp) {
+                return;
+            }
+            List<User> users = DataServices.get().loadUsers();
+            boolean migrated = false;
+            for (User user : users) {
+                if (!PasswordHasher.isHashed(user.getPassword())) {
+                    user.setPassword(PasswordHasher.hash(user.getPassword()));
+                    migrated = true;
+                }
+            }
+            if (migrated) {
+                DataServices.get().saveUsers(users);
+            }
+            
+            Map<String, User> index = new ConcurrentHashMap<>();
+            for (User user : users) {
+                index.put(user.getUsername(), user);
+            }
+            usersByName = index;
+            usersStamp = DataServices.get().getUsersRevision();
+        }
+    }
+    
+    // Upgrades a hash made with a lower cost factor than is configured now
+    private static User rehash(User user, String password) {
+        synchronized (AuthService.class) {
+            User upgraded = new User(user.getUsername(), PasswordHasher.hash(password), user.getRole());
+            usersByName.put(upgraded.getUsername(), upgraded);
+            DataServices.get().saveUsers(new ArrayList<>(usersByName.values()));
+            usersStamp = DataServices.get().getUsersRevision();
+            return upgraded;
+        }
+    }
+}
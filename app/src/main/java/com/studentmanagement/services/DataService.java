@@ -0,0 +1,75 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.models.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Where users and students are stored. DataServices.get() returns the backend
+// chosen with the sms.storage system property (json or h2).
+public interface DataService extends AutoCloseable {
+    // Users
+    List<User> loadUsers();
+    
+    void saveUsers(List<User> users);
+    
+    // Changes whenever the stored users change
+    long getUsersRevision();
+    
+    // Students
+    void forEachStudent(Consumer<Student> action);
+    
+    default List<Student> loadStudents() {
+        List<Student> students = new ArrayList<>();
+        forEachStudent(students::add);
+        return students;
+    }
+    
+    // Replaces the whole roster
+    void saveStudents(Iterator<Student> students);
+    
+    default void saveStudents(List<Student> students) {
+        saveStudents(students.iterator());
+    }
+    
+    // Changes when the roster is replaced wholesale or modified outside this process
+    long getStudentsRevision();
+    
+    // Queues single-student edits and returns at once. Each change is
+    // compare-and-set against its base version when written; failures and
+    // rejected conflicts (StudentConflictException) go to the persistence
+    // failure listeners, after the conflict listeners have run.
+    void saveStudentChanges(List<StudentMutation> changes);
+    
+    // Drops queued changes for these students that have not been written yet
+    void discardStudentChanges(Collection<String> studentIds);
+    
+    // Picks up student changes other app instances have saved, delivering
+    // them to the external change listeners
+    void refreshStudents();
+    
+    void addExternalChangeListener(Consumer<List<StudentMutation>> listener);
+    
+    void removeExternalChangeListener(Consumer<List<StudentMutation>> listener);
+    
+    // Called on the write-behind thread when queued changes are rejected,
+    // with what is stored for each of those students instead: a PUT of the
+    // stored record, or a DELETE if there is none
+    void addConflictListener(Consumer<List<StudentMutation>> listener);
+    
+    void removeConflictListener(Consumer<List<StudentMutation>> listener);
+    
+    // Waits for queued student changes to be stored, e.g. on logout or exit.
+    // Returns false if they could not be written in time.
+    boolean flushStudentChanges();
+    
+    void addPersistenceFailureListener(Consumer<Exception> listener);
+    
+    // Flushes queued changes and releases files or connections
+    @Override
+    void close();
+}
@@ -0,0 +1,57 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.User;
+import com.studentmanagement.utils.PasswordHasher;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Picks the storage backend. Configured with system properties:
+//   sms.storage    json (default) or h2
+//   sms.data.dir   directory holding the data files (default "data")
+public class DataServices {
+    public static final String JSON = "json";
+    public static final String H2 = "h2";
+    
+    private static volatile DataService instance;
+    
+    // Created on first use, so properties set before then take effect
+    public static DataService get() {
+        DataService service = instance;
+        if (service == null) {
+            synchronized (DataServices.class) {
+                service = instance;
+                if (service == null) {
+                    service = create(System.getProperty("sms.storage", JSON), getDataDirectory());
+                    instance = service;
+                }
+            }
+        }
+        return service;
+    }
+    
+    public static File getDataDirectory() {
+        return new File(System.getProperty("sms.data.dir", "data"));
+    }
+    
+    public static DataService create(String backend, File dataDirectory) {
+        switch (backend.toLowerCase(Locale.ROOT)) {
+            case JSON:
+                return new JsonDataService(dataDirectory);
+            case H2:
+                return new H2DataService(dataDirectory);
+            default:
+                throw new IllegalArgumentException("Unknown storage backend: " + backend + " (expected json or h2)");
+        }
+    }
+    
+    // Accounts created the first time a backend has no users stored
+    static List<User> defaultUsers() {
+        List<User> users = new ArrayList<>();
+        users.add(new User("admin", PasswordHasher.hash("admin123"), "admin"));
+        users.add(new User("user", PasswordHasher.hash("user123"), "user"));
+        return users;
+    }
+}
@@ -0,0 +1,92 @@
+package com.studentmanagement.services;
+
+// Mergeable GPA accumulator: primitive count, sum and sum of squares plus a
+// fixed histogram at 0.01 resolution, so partial results from parallel
+// workers combine exactly and quantiles need no sorting. A GPA can also be
+// taken out again, which lets a summary follow roster edits.
+public class GpaSummary {
+    private static final int BUCKETS = 401; // 0.00 .. 4.00
+    
+    private long count;
+    private double sum;
+    private double sumOfSquares;
+    private final long[] histogram = new long[BUCKETS];
+    
+    public void accept(double gpa) {
+        count++;
+        sum += gpa;
+        sumOfSquares += gpa * gpa;
+        histogram[bucketOf(gpa)]++;
+    }
+    
+    // Undoes an earlier accept(gpa); returns the count left
+    public long remove(double gpa) {
+        count--;
+        histogram[bucketOf(gpa)]--;
+        if (count == 0) {
+            // Drop the rounding error the subtractions have built up
+            sum = 0;
+            sumOfSquares = 0;
+        } else {
+            sum -= gpa;
+            sumOfSquares -= gpa * gpa;
+        }
+        return count;
+    }
+    
+    public GpaSummary copy() {
+        return new GpaSummary().combine(this);
+    }
+    
+    public GpaSummary combine(GpaSummary other) {
+        count += other.count;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        return this;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return count > 0 ? sum / count : 0.0;
+    }
+    
+    public double getStandardDeviation() {
+        if (count < 2) {
+            return 0.0;
+        }
+        double mean = getMean();
+        double variance = (sumOfSquares - count * mean * mean) / (count - 1);
+        return Math.sqrt(Math.max(0.0, variance));
+    }
+    
+    public double getMedian() {
+        return getPercentile(50);
+    }
+    
+    // Nearest-rank percentile (0-100), exact to the histogram's 0.01 resolution
+    public double getPercentile(double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i / 100.0;
+            }
+        }
+        return (BUCKETS - 1) / 100.0;
+    }
+    
+    private static int bucketOf(double gpa) {
+        int bucket = (int) Math.round(gpa * 100);
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+}
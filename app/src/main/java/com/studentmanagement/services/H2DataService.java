@@ -0,0 +1,427 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.models.User;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+import com.studentmanagement.utils.ValidationUtils;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Embedded H2 database in the data directory (students.mv.db). Columns the
+// repository filters and sorts on are indexed, bulk writes go through batched
+// prepared statements, and connections come from a small pool
+// (sms.db.poolSize, default 8). Single-student edits are written behind on
+// a background thread, as with the JSON backend.
+public class H2DataService implements DataService {
+    private static final int BATCH_SIZE = 1000;
+    private static final int FETCH_SIZE = 1000;
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+    private static final LatencyHistogram studentsLoadLatency = Metrics.timer("storage.students.load");
+    private static final LatencyHistogram studentsSaveLatency = Metrics.timer("storage.students.save");
+    private static final LatencyHistogram usersLoadLatency = Metrics.timer("storage.users.load");
+    private static final LatencyHistogram usersSaveLatency = Metrics.timer("storage.users.save");
+    
+    private static final String STUDENT_COLUMNS =
+            "student_id, first_name, last_name, date_of_birth, email, phone, department, gpa, enrollment_year, version";
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (" + STUDENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Single-student writes are compare-and-set: a row is only created if no
+    // other writer created it first, and only changed or deleted while it is
+    // still at the version the edit was based on
+    private static final String INSERT_NEW_STUDENT =
+            "INSERT INTO students (" + STUDENT_COLUMNS + ") SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM students WHERE student_id = ?)";
+    private static final String UPDATE_STUDENT =
+            "UPDATE students SET student_id = ?, first_name = ?, last_name = ?, date_of_birth = ?, email = ?, "
+            + "phone = ?, department = ?, gpa = ?, enrollment_year = ?, version = ? "
+            + "WHERE student_id = ? AND version = ?";
+    private static final String DELETE_STUDENT =
+            "DELETE FROM students WHERE student_id = ? AND version = ?";
+    
+    private final JdbcConnectionPool pool;
+    private final WriteBehindPersister persister;
+    // The database is opened by this process only, so a counter is enough to
+    // tell callers when data changed other than through saveStudentChanges()
+    private final AtomicLong usersRevision = new AtomicLong(1);
+    private final AtomicLong studentsRevision = new AtomicLong(1);
+    
+    public H2DataService(File dataDirectory) {
+        this("jdbc:h2:file:" + new File(dataDirectory, "students").getAbsolutePath());
+        File databaseFile = new File(dataDirectory, "students.mv.db");
+        Metrics.gauge("storage.students.bytes", databaseFile::length);
+    }
+    
+    public H2DataService(String url) {
+        this.pool = JdbcConnectionPool.create(url, "sa", "");
+        pool.setMaxConnections(Integer.getInteger("sms.db.poolSize", 8));
+        createSchema();
+        this.persister = new WriteBehindPersister(this::applyChanges);
+    }
+    
+    private void createSchema() {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS users ("
+                    + "username VARCHAR(64) PRIMARY KEY, "
+                    + "password VARCHAR(256) NOT NULL, "
+                    + "role VARCHAR(32) NOT NULL)");
+            // seq keeps rows in insertion order, like the JSON file
+            // Sized to the limits StudentValidator enforces
+            statement.execute("CREATE TABLE IF NOT EXISTS students ("
+                    + "seq BIGINT AUTO_INCREMENT UNIQUE, "
+                    + "student_id VARCHAR(" + ValidationUtils.MAX_ID_LENGTH + ") PRIMARY KEY, "
+                    + "first_name VARCHAR(" + ValidationUtils.MAX_NAME_LENGTH + "), "
+                    + "last_name VARCHAR(" + ValidationUtils.MAX_NAME_LENGTH + "), "
+                    + "date_of_birth DATE, "
+                    + "email VARCHAR(" + ValidationUtils.MAX_EMAIL_LENGTH + "), "
+                    + "phone VARCHAR(" + ValidationUtils.MAX_PHONE_LENGTH + "), "
+                    + "department VARCHAR(" + ValidationUtils.MAX_DEPARTMENT_LENGTH + "), "
+                    + "gpa DOUBLE PRECISION, "
+                    + "enrollment_year INT, "
+                    + "version BIGINT DEFAULT 0 NOT NULL)");
+            // Databases created before records were versioned
+            statement.execute("ALTER TABLE students ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL");
+            statement.execute("CREATE INDEX IF NOT EXISTS students_department ON students (department)");
+            statement.execute("CREATE INDEX IF NOT EXISTS students_enrollment_year ON students (enrollment_year)");
+            statement.execute("CREATE INDEX IF NOT EXISTS students_last_name ON students (last_name, first_name)");
+            statement.execute("CREATE INDEX IF NOT EXISTS students_gpa ON students (gpa)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open student database: " + e.getMessage(), e);
+        }
+    }
+    
+    // User operations
+    @Override
+    public List<User> loadUsers() {
+        List<User> users = new ArrayList<>();
+        long start = System.nanoTime();
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT username, password, role FROM users ORDER BY username")) {
+            while (rows.next()) {
+                users.add(new User(rows.getString(1), rows.getString(2), rows.getString(3)));
+            }
+        } catch (SQLException e) {
+            Metrics.error("storage", e);
+            return users;
+        } finally {
+            usersLoadLatency.record(System.nanoTime() - start);
+        }
+        if (users.isEmpty()) {
+            users = DataServices.defaultUsers();
+            saveUsers(users);
+        }
+        return users;
+    }
+    
+    // Replaced in one transaction, so a failure leaves the old accounts in place
+    @Override
+    public void saveUsers(List<User> users) {
+        long start = System.nanoTime();
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement delete = connection.createStatement();
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO users (username, password, role) VALUES (?, ?, ?)")) {
+                delete.executeUpdate("DELETE FROM users");
+                for (User user : users) {
+                    insert.setString(1, user.getUsername());
+                    insert.setString(2, user.getPassword());
+                    insert.setString(3, user.getRole());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                usersRevision.incrementAndGet();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            Metrics.error("storage", e);
+        } finally {
+            usersSaveLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long getUsersRevision() {
+        return usersRevision.get();
+    }
+    
+    // Student operations
+    @Override
+    public void forEachStudent(Consumer<Student> action) {
+        // Queued changes must be stored before the table is read back
+        flushStudentChanges();
+        long start = System.nanoTime();
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery("SELECT " + STUDENT_COLUMNS + " FROM students ORDER BY seq")) {
+                while (rows.next()) {
+                    action.accept(readStudent(rows));
+                }
+            }
+        } catch (SQLException e) {
+            // Unreadable table means an empty roster, as with a missing JSON file
+            Metrics.error("storage", e);
+        } finally {
+            studentsLoadLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public void saveStudents(Iterator<Student> students) {
+        // Let queued changes land first so none is replayed over the new roster
+        flushStudentChanges();
+        long start = System.nanoTime();
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement delete = connection.createStatement();
+                 PreparedStatement insert = connection.prepareStatement(INSERT_STUDENT)) {
+                delete.executeUpdate("DELETE FROM students");
+                int batched = 0;
+                while (students.hasNext()) {
+                    bindStudent(insert, students.next());
+                    insert.addBatch();
+                    if (++batched == BATCH_SIZE) {
+                        insert.executeBatch();
+                        batched = 0;
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+                studentsRevision.incrementAndGet();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            Metrics.error("storage", e);
+        } finally {
+            studentsSaveLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long getStudentsRevision() {
+        return studentsRevision.get();
+    }
+    
+    @Override
+    public void saveStudentChanges(List<StudentMutation> changes) {
+        persister.submit(changes);
+    }
+    
+    @Override
+    public void discardStudentChanges(Collection<String> studentIds) {
+        persister.discard(studentIds);
+    }
+    
+    // The database belongs to this process, so there is never anything to catch up on
+    @Override
+    public void refreshStudents() {
+    }
+    
+    @Override
+    public void addExternalChangeListener(Consumer<List<StudentMutation>> listener) {
+    }
+    
+    @Override
+    public void removeExternalChangeListener(Consumer<List<StudentMutation>> listener) {
+    }
+    
+    @Override
+    public void addConflictListener(Consumer<List<StudentMutation>> listener) {
+        persister.addConflictListener(listener);
+    }
+    
+    @Override
+    public void removeConflictListener(Consumer<List<StudentMutation>> listener) {
+        persister.removeConflictListener(listener);
+    }
+    
+    @Override
+    public boolean flushStudentChanges() {
+        try {
+            return persister.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Override
+    public void addPersistenceFailureListener(Consumer<Exception> listener) {
+        persister.addFailureListener(listener);
+    }
+    
+    @Override
+    public void close() {
+        if (!flushStudentChanges()) {
+            Metrics.error("storage", "Unsaved student changes could not be written to the database");
+        }
+        pool.dispose();
+    }
+    
+    // Called on the write-behind thread. The persister keeps only the latest
+    // mutation per ID, so no two statements in a batch touch the same row.
+    // For each mutation whose compare-and-set found the row changed, returns
+    // the row as it is now.
+    private List<StudentMutation> applyChanges(List<StudentMutation> batch) throws IOException {
+        List<StudentMutation> deletes = new ArrayList<>();
+        List<StudentMutation> inserts = new ArrayList<>();
+        List<StudentMutation> updates = new ArrayList<>();
+        for (StudentMutation mutation : batch) {
+            if (mutation.getOp() == StudentMutation.Type.DELETE) {
+                // A record added and removed before it was ever written
+                if (mutation.getBaseVersion() != StudentMutation.ABSENT) {
+                    deletes.add(mutation);
+                }
+            } else if (mutation.getBaseVersion() == StudentMutation.ABSENT) {
+                inserts.add(mutation);
+            } else {
+                updates.add(mutation);
+            }
+        }
+        
+        List<StudentMutation> rejected = new ArrayList<>();
+        List<StudentMutation> stored = new ArrayList<>();
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_STUDENT);
+                 PreparedStatement insert = connection.prepareStatement(INSERT_NEW_STUDENT);
+                 PreparedStatement update = connection.prepareStatement(UPDATE_STUDENT)) {
+                for (StudentMutation mutation : deletes) {
+                    delete.setString(1, mutation.getStudentId());
+                    delete.setLong(2, mutation.getBaseVersion());
+                    delete.addBatch();
+                }
+                for (StudentMutation mutation : inserts) {
+                    bindStudent(insert, mutation.getStudent());
+                    insert.setString(11, mutation.getStudentId());
+                    insert.addBatch();
+                }
+                for (StudentMutation mutation : updates) {
+                    bindStudent(update, mutation.getStudent());
+                    update.setString(11, mutation.getStudentId());
+                    update.setLong(12, mutation.getBaseVersion());
+                    update.addBatch();
+                }
+                // Deletes first, so a record renamed onto a freed ID finds it free
+                collectRejected(delete.executeBatch(), deletes, rejected);
+                collectRejected(insert.executeBatch(), inserts, rejected);
+                collectRejected(update.executeBatch(), updates, rejected);
+                for (StudentMutation mutation : rejected) {
+                    stored.add(readStored(connection, mutation.getStudentId()));
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw saveFailure(batch, e);
+        }
+        return stored;
+    }
+    
+    // A non-transient failure, e.g. a value too long for its column, would
+    // fail the same way on every retry, so it is reported as a rejection. For
+    // a single change the row as stored goes with it, so the edit can be undone.
+    private IOException saveFailure(List<StudentMutation> batch, SQLException e) {
+        if (!isPermanent(e)) {
+            return new IOException("Could not save student changes: " + e.getMessage(), e);
+        }
+        if (batch.size() != 1) {
+            return new StudentWriteRejectedException("Could not save student changes: " + e.getMessage(), List.of(), e);
+        }
+        String studentId = batch.get(0).getStudentId();
+        try (Connection connection = pool.getConnection()) {
+            return new StudentWriteRejectedException("Student " + studentId + " could not be saved: " + e.getMessage(),
+                    List.of(readStored(connection, studentId)), e);
+        } catch (SQLException readFailure) {
+            e.addSuppressed(readFailure);
+            return new IOException("Could not save student changes: " + e.getMessage(), e);
+        }
+    }
+    
+    // A failed executeBatch() throws a BatchUpdateException, which carries the
+    // statement's own failure as its next exception
+    private static boolean isPermanent(SQLException e) {
+        for (SQLException failure = e; failure != null; failure = failure.getNextException()) {
+            if (failure instanceof SQLNonTransientException && !(failure instanceof SQLNonTransientConnectionException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void collectRejected(int[] counts, List<StudentMutation> mutations, List<StudentMutation> rejected) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(mutations.get(i));
+            }
+        }
+    }
+    
+    // The row as a change that would produce it: a PUT, or a DELETE if there is none
+    private static StudentMutation readStored(Connection connection, String studentId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + STUDENT_COLUMNS + " FROM students WHERE student_id = ?")) {
+            select.setString(1, studentId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? StudentMutation.put(readStudent(rows), StudentMutation.ABSENT)
+                        : StudentMutation.delete(studentId, StudentMutation.ABSENT);
+            }
+        }
+    }
+    
+    private static void bindStudent(PreparedStatement statement, Student student) throws SQLException {
+        statement.setString(1, student.getStudentId());
+        statement.setString(2, student.getFirstName());
+        statement.setString(3, student.getLastName());
+        statement.setDate(4, student.getDateOfBirth() != null ? Date.valueOf(student.getDateOfBirth()) : null);
+        statement.setString(5, student.getEmail());
+        statement.setString(6, student.getPhone());
+        statement.setString(7, student.getDepartment());
+        statement.setDouble(8, student.getGpa());
+        statement.setInt(9, student.getEnrollmentYear());
+        statement.setLong(10, student.getVersion());
+    }
+    
+    private static Student readStudent(ResultSet rows) throws SQLException {
+        Date dateOfBirth = rows.getDate(4);
+        Student student = new Student(
+                rows.getString(1),
+                rows.getString(2),
+                rows.getString(3),
+                dateOfBirth != null ? dateOfBirth.toLocalDate() : null,
+                rows.getString(5),
+                rows.getString(6),
+                rows.getString(7),
+                rows.getDouble(8),
+                rows.getInt(9));
+        student.setVersion(rows.getLong(10));
+        return student;
+    }
+}
@@ -0,0 +1,302 @@
+package com.studentmanagement.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.models.User;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Flat-file storage: users.json plus students.json with its change journal.
+// The static helpers read and write the JSON form of a student and are
+// shared with import, export and the binary snapshot.
+public class JsonDataService implements DataService {
+    private static final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .create();
+    // Student files can hold hundreds of thousands of records, so they are
+    // streamed record by record and written without pretty printing
+    private static final Gson compactGson = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .create();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+    // Shared with the H2 backend, so a switch of backend shows up in the same series
+    private static final LatencyHistogram studentsLoadLatency = Metrics.timer("storage.students.load");
+    private static final LatencyHistogram studentsSaveLatency = Metrics.timer("storage.students.save");
+    private static final LatencyHistogram usersLoadLatency = Metrics.timer("storage.users.load");
+    private static final LatencyHistogram usersSaveLatency = Metrics.timer("storage.users.save");
+    
+    private final File usersFile;
+    private final StudentJournal journal;
+    // Student changes are journaled on a background thread, not the caller's
+    private final WriteBehindPersister persister;
+    private final List<Consumer<List<StudentMutation>>> externalChangeListeners = new CopyOnWriteArrayList<>();
+    
+    public JsonDataService(File dataDirectory) {
+        this.usersFile = new File(dataDirectory, "users.json");
+        this.journal = new StudentJournal(new File(dataDirectory, "students.json"), compactGson);
+        this.persister = new WriteBehindPersister(journal::append);
+        journal.setExternalChangeListener(changes -> {
+            for (Consumer<List<StudentMutation>> listener : externalChangeListeners) {
+                listener.accept(changes);
+            }
+        });
+        Metrics.gauge("storage.students.bytes", journal::sizeOnDisk);
+        Metrics.gauge("storage.users.bytes", usersFile::length);
+    }
+    
+    // User operations
+    @Override
+    public List<User> loadUsers() {
+        long start = System.nanoTime();
+        try (Reader reader = new FileReader(usersFile)) {
+            Type userListType = new TypeToken<ArrayList<User>>(){}.getType();
+            return gson.fromJson(reader, userListType);
+        } catch (IOException e) {
+            // Return default users if file doesn't exist
+            List<User> users = DataServices.defaultUsers();
+            saveUsers(users);
+            return users;
+        } finally {
+            usersLoadLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    // Written to a temporary file and renamed, so a crash never leaves a
+    // half-written credentials file
+    @Override
+    public void saveUsers(List<User> users) {
+        File target = usersFile;
+        File temp = new File(usersFile.getPath() + ".tmp");
+        long start = System.nanoTime();
+        try {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+                gson.toJson(users, writer);
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Metrics.error("storage", e);
+            temp.delete();
+        } finally {
+            usersSaveLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    // Changes whenever users.json is rewritten
+    @Override
+    public long getUsersRevision() {
+        return usersFile.lastModified();
+    }
+    
+    // Student operations
+    @Override
+    public void forEachStudent(Consumer<Student> action) {
+        // Queued changes must be on disk before the files are read back
+        flushStudentChanges();
+        long start = System.nanoTime();
+        try {
+            journal.forEach(action);
+        } catch (IOException | UncheckedIOException e) {
+            // Missing or unreadable file means an empty roster
+        } finally {
+            studentsLoadLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public void saveStudents(Iterator<Student> students) {
+        // Let queued changes land first so none is replayed over the new snapshot
+        flushStudentChanges();
+        long start = System.nanoTime();
+        try {
+            journal.writeSnapshot(students);
+        } catch (IOException e) {
+            Metrics.error("storage", e);
+        } finally {
+            studentsSaveLatency.record(System.nanoTime() - start);
+        }
+    }
+    
+    // Changes when students.json is rewritten wholesale or modified outside this process
+    @Override
+    public long getStudentsRevision() {
+        return journal.getRevision();
+    }
+    
+    // Records single-student edits without rewriting the whole file
+    @Override
+    public void saveStudentChanges(List<StudentMutation> changes) {
+        persister.submit(changes);
+    }
+    
+    @Override
+    public void discardStudentChanges(Collection<String> studentIds) {
+        persister.discard(studentIds);
+    }
+    
+    @Override
+    public void refreshStudents() {
+        try {
+            journal.refresh();
+        } catch (IOException e) {
+            // Other instances' changes arrive with the next successful read
+            Metrics.error("storage", e);
+        }
+    }
+    
+    @Override
+    public void addExternalChangeListener(Consumer<List<StudentMutation>> listener) {
+        externalChangeListeners.add(listener);
+    }
+    
+    @Override
+    public void removeExternalChangeListener(Consumer<List<StudentMutation>> listener) {
+        externalChangeListeners.remove(listener);
+    }
+    
+    @Override
+    public void addConflictListener(Consumer<List<StudentMutation>> listener) {
+        persister.addConflictListener(listener);
+    }
+    
+    @Override
+    public void removeConflictListener(Consumer<List<StudentMutation>> listener) {
+        persister.removeConflictListener(listener);
+    }
+    
+    @Override
+    public boolean flushStudentChanges() {
+        try {
+            return persister.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Override
+    public void addPersistenceFailureListener(Consumer<Exception> listener) {
+        persister.addFailureListener(listener);
+    }
+    
+    @Override
+    public void close() {
+        if (!flushStudentChanges()) {
+            Metrics.error("storage", "Unsaved student changes could not be written to " + usersFile.getParent());
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            Metrics.error("storage", e);
+        }
+    }
+    
+    // Parses a single JSON object, e.g. one line of a JSON-lines import
+    public static Student parseStudent(String json) {
+        return compactGson.fromJson(json, Student.class);
+    }
+    
+    // Writes a single JSON object with no trailing newline, e.g. one line of an export
+    public static void writeStudent(Student student, Appendable out) {
+        compactGson.toJson(student, Student.class, out);
+    }
+    
+    public static void writeStudents(File file, Iterator<Student> students) throws IOException {
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            writer.beginArray();
+            while (students.hasNext()) {
+                compactGson.toJson(students.next(), Student.class, writer);
+            }
+            writer.endArray();
+        }
+    }
+    
+    // Reads students one at a time from a JSON array without holding the whole file
+    public static class StudentReader implements StudentCursor {
+        private final JsonReader reader;
+        private boolean started;
+        
+        public StudentReader(File file) throws IOException {
+            this.reader = new JsonReader(new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE));
+        }
+        
+        @Override
+        public boolean hasNext() {
+            try {
+                if (!started) {
+                    started = true;
+                    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                        return false;
+                    }
+                    reader.beginArray();
+                }
+                return reader.hasNext();
+            } catch (EOFException e) {
+                // Empty file
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return compactGson.fromJson(reader, Student.class);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+    
+    // LocalDate Adapter for Gson, streaming so dates are not built as a JSON tree first
+    static class LocalDateAdapter extends com.google.gson.TypeAdapter<LocalDate> {
+        private final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
+        
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.value(formatter.format(value));
+            }
+        }
+        
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return LocalDate.parse(in.nextString(), formatter);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.ColumnarStudentStore;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Keeps a StudentAnalytics report of the roster up to date on a background
+// thread. The roster is copied and analyzed in full once; after that each
+// batch of change events is applied to the report as removals and additions,
+// and only the departments and cohorts it touched are handed on. Updates
+// that pile up while the listener's executor is busy are merged, so with
+// Platform::runLater the listener runs at most once per FX pulse. With
+// -Dsms.analytics.columnar=true the full analysis copies the roster into a
+// ColumnarStudentStore and scans its primitive columns instead.
+public class LiveStudentAnalytics {
+    private static final boolean COLUMNAR = Boolean.getBoolean("sms.analytics.columnar");
+    private static final LatencyHistogram analyzeLatency = Metrics.timer("analytics.compute");
+    private static final LatencyHistogram applyChangesLatency = Metrics.timer("analytics.applyChanges");
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "student-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Supplier<StudentRepository> repositories;
+    private final Consumer<Update> listener;
+    private final Executor executor;
+    private volatile boolean stopped;
+    // Only touched on the worker thread
+    private StudentEventBus.Subscription subscription;
+    private StudentAnalytics.Report report;
+    // Guarded by this
+    private Update pending;
+    
+    private LiveStudentAnalytics(Supplier<StudentRepository> repositories, Consumer<Update> listener,
+                                 Executor executor) {
+        this.repositories = repositories;
+        this.listener = listener;
+        this.executor = executor;
+    }
+    
+    // The repository is looked up again after a RESET, e.g. with
+    // StudentRepository::getShared. The first update is a full one.
+    public static LiveStudentAnalytics start(Supplier<StudentRepository> repositories,
+                                             Consumer<Update> listener, Executor executor) {
+        LiveStudentAnalytics analytics = new LiveStudentAnalytics(repositories, listener, executor);
+        worker.execute(analytics::reload);
+        return analytics;
+    }
+    
+    // No update is delivered once this returns
+    public void stop() {
+        stopped = true;
+        worker.execute(() -> {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        });
+    }
+    
+    private void reload() {
+        if (stopped) {
+            return;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        try {
+            StudentRepository repository = repositories.get();
+            // Changes are published under the repository's write lock, so a
+            // subscription taken together with the copy under its read lock
+            // starts right after it: no change is missed or applied twice
+            List<Student> roster = repository.read(() -> {
+                subscription = repository.getEvents().subscribe(this::applyChanges, worker);
+                return repository.snapshot();
+            });
+            long start = System.nanoTime();
+            report = COLUMNAR ? StudentAnalytics.analyze(ColumnarStudentStore.of(roster))
+                    : StudentAnalytics.analyze(roster);
+            analyzeLatency.record(System.nanoTime() - start);
+            post(Update.full(report));
+        } catch (RuntimeException e) {
+            Metrics.error("analytics", e);
+        }
+    }
+    
+    private void applyChanges(List<StudentChangeEvent> changes) {
+        if (stopped) {
+            return;
+        }
+        for (StudentChangeEvent change : changes) {
+            if (change.getType() == StudentChangeEvent.Type.RESET) {
+                reload();
+                return;
+            }
+        }
+        if (report == null) {
+            // The full analysis failed; the next RESET tries again
+            return;
+        }
+        
+        long start = System.nanoTime();
+        Set<String> departments = new HashSet<>();
+        Map<Integer, Set<String>> cohorts = new HashMap<>();
+        for (StudentChangeEvent change : changes) {
+            Student before = change.getBefore();
+            if (before != null) {
+                report.remove(before);
+                departments.add(before.getDepartment());
+                cohorts.computeIfAbsent(before.getEnrollmentYear(), y -> new HashSet<>()).add(before.getDepartment());
+            }
+            Student after = change.getAfter();
+            if (after != null) {
+                report.add(after);
+                departments.add(after.getDepartment());
+                cohorts.computeIfAbsent(after.getEnrollmentYear(), y -> new HashSet<>()).add(after.getDepartment());
+            }
+        }
+        
+        Update update = new Update(false, report.getOverall().copy());
+        for (String department : departments) {
+            GpaSummary summary = report.getDepartment(department);
+            update.departments.put(department, summary != null ? summary.copy() : null);
+        }
+        cohorts.forEach((year, touched) -> {
+            Map<String, Long> counts = update.cohorts.computeIfAbsent(year, y -> new HashMap<>());
+            touched.forEach(department -> counts.put(department, report.getCohort(year, department)));
+        });
+        post(update);
+        applyChangesLatency.record(System.nanoTime() - start);
+    }
+    
+    private void post(Update update) {
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending == null;
+            pending = schedule || update.full ? update : pending.merge(update);
+        }
+        if (schedule) {
+            executor.execute(this::deliver);
+        }
+    }
+    
+    private void deliver() {
+        Update update;
+        synchronized (this) {
+            update = pending;
+            pending = null;
+        }
+        if (!stopped) {
+            listener.accept(update);
+        }
+    }
+    
+    // What changed since the previous update, as copies the listener may keep.
+    // A full update holds every department and cohort and replaces whatever
+    // the listener showed before.
+    public static class Update {
+        private final boolean full;
+        private GpaSummary overall;
+        // Null value: the department has no students left
+        private final Map<String, GpaSummary> departments = new HashMap<>();
+        // Enrollment year -> department -> student count, years ascending;
+        // a count of 0 means the cohort is gone
+        private final Map<Integer, Map<String, Long>> cohorts = new TreeMap<>();
+        
+        private Update(boolean full, GpaSummary overall) {
+            this.full = full;
+            this.overall = overall;
+        }
+        
+        private static Update full(StudentAnalytics.Report report) {
+            Update update = new Update(true, report.getOverall().copy());
+            report.getByDepartment().forEach((department, summary) -> update.departments.put(department, summary.copy()));
+            report.getYearByDepartment().forEach((year, counts) -> update.cohorts.put(year, new HashMap<>(counts)));
+            return update;
+        }
+        
+        // Later values win; the result is full if this one was
+        private Update merge(Update later) {
+            overall = later.overall;
+            departments.putAll(later.departments);
+            later.cohorts.forEach((year, counts) ->
+                    cohorts.computeIfAbsent(year, y -> new HashMap<>()).putAll(counts));
+            return this;
+        }
+        
+        public boolean isFull() {
+            return full;
+        }
+        
+        public GpaSummary getOverall() {
+            return overall;
+        }
+        
+        public Map<String, GpaSummary> getDepartments() {
+            return departments;
+        }
+        
+        public Map<Integer, Map<String, Long>> getCohorts() {
+            return cohorts;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.studentmanagement.services;
+
+// One logged-in user. Everything but the last-access time is fixed at login,
+// so role checks are plain field reads with no locking.
+public class Session {
+    private final String token;
+    private final String username;
+    private final String role;
+    private final boolean admin;
+    private final boolean expiresWhenIdle;
+    private final long createdMillis;
+    private volatile long lastAccessMillis;
+    
+    Session(String token, String username, String role, boolean expiresWhenIdle, long nowMillis) {
+        this.token = token;
+        this.username = username;
+        this.role = role;
+        this.admin = "admin".equals(role);
+        this.expiresWhenIdle = expiresWhenIdle;
+        this.createdMillis = nowMillis;
+        this.lastAccessMillis = nowMillis;
+    }
+    
+    public String getToken() { return token; }
+    
+    public String getUsername() { return username; }
+    
+    public String getRole() { return role; }
+    
+    public boolean isAdmin() { return admin; }
+    
+    public long getCreatedMillis() { return createdMillis; }
+    
+    public long getLastAccessMillis() { return lastAccessMillis; }
+    
+    boolean expiresWhenIdle() { return expiresWhenIdle; }
+    
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return "Session{username='" + username + "', role='" + role + "'}";
+    }
+}
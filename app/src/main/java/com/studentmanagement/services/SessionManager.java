@@ -0,0 +1,118 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sessions keyed by an unguessable token. Lookups are a ConcurrentHashMap
+// read; a background sweep removes sessions idle longer than the timeout
+// (sms.session.idleMinutes, default 30).
+public class SessionManager {
+    private static final long DEFAULT_IDLE_MINUTES = 30;
+    private static final int TOKEN_BYTES = 32;
+    
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMillis;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong loggedOut = new AtomicLong();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public SessionManager() {
+        this(TimeUnit.MINUTES.toMillis(Long.getLong("sms.session.idleMinutes", DEFAULT_IDLE_MINUTES)));
+    }
+    
+    public SessionManager(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        long sweepMillis = Math.max(1000, Math.min(idleTimeoutMillis / 2, 60_000));
+        sweeper.scheduleWithFixedDelay(this::expireIdleSessions, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public Session create(User user) {
+        return create(user, true);
+    }
+    
+    // expiresWhenIdle=false is for the desktop user's own session, which lasts until logout
+    public Session create(User user, boolean expiresWhenIdle) {
+        Session session = new Session(newToken(), user.getUsername(), user.getRole(),
+                expiresWhenIdle, System.currentTimeMillis());
+        sessions.put(session.getToken(), session);
+        created.incrementAndGet();
+        return session;
+    }
+    
+    // The live session for a token, or null if it is unknown or has timed out
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isIdle(session, now)) {
+            if (sessions.remove(token, session)) {
+                expired.incrementAndGet();
+            }
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+    
+    public boolean invalidate(String token) {
+        if (token != null && sessions.remove(token) != null) {
+            loggedOut.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+    
+    public long getSessionsCreated() {
+        return created.get();
+    }
+    
+    public long getSessionsExpired() {
+        return expired.get();
+    }
+    
+    public long getSessionsLoggedOut() {
+        return loggedOut.get();
+    }
+    
+    private void expireIdleSessions() {
+        long now = System.currentTimeMillis();
+        for (Session session : sessions.values()) {
+            if (isIdle(session, now) && sessions.remove(session.getToken(), session)) {
+                expired.incrementAndGet();
+            }
+        }
+    }
+    
+    private boolean isIdle(Session session, long now) {
+        return session.expiresWhenIdle() && now - session.getLastAccessMillis() > idleTimeoutMillis;
+    }
+    
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,167 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.ColumnarStudentStore;
+import com.studentmanagement.models.Student;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+// Roster-wide GPA and cohort statistics computed with a parallel stream.
+// Each fork/join worker fills its own Report and the partial reports are
+// merged, so no locking happens during the scan.
+public class StudentAnalytics {
+    
+    public static Report analyze(Collection<Student> students) {
+        return students.parallelStream().collect(Collector.of(
+                Report::new,
+                Report::accept,
+                Report::combine,
+                Collector.Characteristics.UNORDERED));
+    }
+    
+    // Same report from a columnar roster. Workers read the primitive columns
+    // and count into arrays indexed by department code; names are only looked
+    // up once the partial results are merged.
+    public static Report analyze(ColumnarStudentStore store) {
+        int departments = store.departmentCount();
+        ColumnTotals totals = IntStream.range(0, store.size()).parallel().collect(
+                () -> new ColumnTotals(departments),
+                (partial, row) -> partial.accept(store.departmentCodeAt(row), store.gpaAt(row),
+                        store.enrollmentYearAt(row)),
+                ColumnTotals::combine);
+        return totals.toReport(store);
+    }
+    
+    private static class ColumnTotals {
+        private final GpaSummary[] byDepartment;
+        // Enrollment year -> student count per department code
+        private final Map<Integer, long[]> yearByDepartment = new HashMap<>();
+        
+        ColumnTotals(int departments) {
+            byDepartment = new GpaSummary[departments];
+        }
+        
+        void accept(int department, double gpa, int enrollmentYear) {
+            GpaSummary summary = byDepartment[department];
+            if (summary == null) {
+                summary = byDepartment[department] = new GpaSummary();
+            }
+            summary.accept(gpa);
+            yearByDepartment.computeIfAbsent(enrollmentYear, y -> new long[byDepartment.length])[department]++;
+        }
+        
+        void combine(ColumnTotals other) {
+            for (int code = 0; code < byDepartment.length; code++) {
+                GpaSummary summary = other.byDepartment[code];
+                if (summary != null) {
+                    byDepartment[code] = byDepartment[code] == null ? summary
+                            : byDepartment[code].combine(summary);
+                }
+            }
+            other.yearByDepartment.forEach((year, counts) -> {
+                long[] mine = yearByDepartment.computeIfAbsent(year, y -> new long[byDepartment.length]);
+                for (int code = 0; code < counts.length; code++) {
+                    mine[code] += counts[code];
+                }
+            });
+        }
+        
+        Report toReport(ColumnarStudentStore store) {
+            Report report = new Report();
+            for (int code = 0; code < byDepartment.length; code++) {
+                if (byDepartment[code] != null) {
+                    report.overall.combine(byDepartment[code]);
+                    report.byDepartment.put(store.departmentName(code), byDepartment[code]);
+                }
+            }
+            yearByDepartment.forEach((year, counts) -> {
+                Map<String, Long> named = report.yearByDepartment.computeIfAbsent(year, y -> new HashMap<>());
+                for (int code = 0; code < counts.length; code++) {
+                    if (counts[code] > 0) {
+                        named.put(store.departmentName(code), counts[code]);
+                    }
+                }
+            });
+            return report;
+        }
+    }
+    
+    public static class Report {
+        private final GpaSummary overall = new GpaSummary();
+        private final Map<String, GpaSummary> byDepartment = new HashMap<>();
+        private final Map<Integer, Map<String, Long>> yearByDepartment = new HashMap<>();
+        
+        private void accept(Student student) {
+            String department = student.getDepartment();
+            double gpa = student.getGpa();
+            overall.accept(gpa);
+            byDepartment.computeIfAbsent(department, d -> new GpaSummary()).accept(gpa);
+            yearByDepartment.computeIfAbsent(student.getEnrollmentYear(), y -> new HashMap<>())
+                    .merge(department, 1L, Long::sum);
+        }
+        
+        // Takes a student back out, e.g. the old record of an edit. Departments
+        // and cohorts left without students are dropped.
+        void remove(Student student) {
+            String department = student.getDepartment();
+            double gpa = student.getGpa();
+            overall.remove(gpa);
+            GpaSummary summary = byDepartment.get(department);
+            if (summary != null && summary.remove(gpa) == 0) {
+                byDepartment.remove(department);
+            }
+            Map<String, Long> counts = yearByDepartment.get(student.getEnrollmentYear());
+            if (counts != null) {
+                counts.computeIfPresent(department, (d, count) -> count > 1 ? count - 1 : null);
+                if (counts.isEmpty()) {
+                    yearByDepartment.remove(student.getEnrollmentYear());
+                }
+            }
+        }
+        
+        void add(Student student) {
+            accept(student);
+        }
+        
+        // Null if the department has no students
+        GpaSummary getDepartment(String department) {
+            return byDepartment.get(department);
+        }
+        
+        long getCohort(int enrollmentYear, String department) {
+            Map<String, Long> counts = yearByDepartment.get(enrollmentYear);
+            return counts != null ? counts.getOrDefault(department, 0L) : 0L;
+        }
+        
+        private Report combine(Report other) {
+            overall.combine(other.overall);
+            other.byDepartment.forEach((dept, summary) ->
+                    byDepartment.merge(dept, summary, GpaSummary::combine));
+            other.yearByDepartment.forEach((year, counts) -> {
+                Map<String, Long> mine = yearByDepartment.computeIfAbsent(year, y -> new HashMap<>());
+                counts.forEach((dept, count) -> mine.merge(dept, count, Long::sum));
+            });
+            return this;
+        }
+        
+        public GpaSummary getOverall() {
+            return overall;
+        }
+        
+        public Map<String, GpaSummary> getByDepartment() {
+            Map<String, GpaSummary> sorted = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+            sorted.putAll(byDepartment);
+            return sorted;
+        }
+        
+        // Enrollment year -> department -> student count, years ascending
+        public Map<Integer, Map<String, Long>> getYearByDepartment() {
+            return new TreeMap<>(yearByDepartment);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Binary mirror of students.json for fast startup.
+//
+// Layout (big-endian):
+//   header:     int magic 'SMSB', int version, int record count, long dictionary offset
+//   records:    str id, str first name, str last name, int date of birth (epoch day),
+//               str email, str phone, byte department code, double gpa, int enrollment year,
+//               long record version (version 2 files only)
+//   dictionary: short count, then one str per department code
+// A str is an int byte length (-1 for null) followed by UTF-8 bytes.
+// The dictionary is written last so records can be streamed in one pass;
+// the header is patched once the record count and offset are known.
+public class StudentBinarySnapshot {
+    private static final int MAGIC = 0x534D5342;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NULL_DEPARTMENT = 0xFF;
+    
+    public static Writer openWriter(File file) throws IOException {
+        return new Writer(file);
+    }
+    
+    public static Reader openReader(File file) throws IOException {
+        return new Reader(file);
+    }
+    
+    public static void convertJsonToBinary(File jsonFile, File binaryFile) throws IOException {
+        try (JsonDataService.StudentReader reader = new JsonDataService.StudentReader(jsonFile);
+             Writer writer = openWriter(binaryFile)) {
+            while (reader.hasNext()) {
+                writer.write(reader.next());
+            }
+        }
+    }
+    
+    public static void convertBinaryToJson(File binaryFile, File jsonFile) throws IOException {
+        try (Reader reader = openReader(binaryFile)) {
+            JsonDataService.writeStudents(jsonFile, reader);
+        }
+    }
+    
+    // Usage: StudentBinarySnapshot json2bin <in.json> <out.bin>
+    //        StudentBinarySnapshot bin2json <in.bin> <out.json>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: StudentBinarySnapshot json2bin|bin2json <input> <output>");
+            System.exit(1);
+        }
+        if ("json2bin".equals(args[0])) {
+            convertJsonToBinary(new File(args[1]), new File(args[2]));
+        } else if ("bin2json".equals(args[0])) {
+            convertBinaryToJson(new File(args[1]), new File(args[2]));
+        } else {
+            System.err.println("Unknown direction: " + args[0]);
+            System.exit(1);
+        }
+    }
+    
+    public static class Writer implements Closeable {
+        private final File file;
+        private final DataOutputStream out;
+        private final Map<String, Integer> departmentCodes = new HashMap<>();
+        private final List<String> departments = new ArrayList<>();
+        private int count;
+        
+        private Writer(File file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+            // Placeholder header, patched on close
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(0);
+            out.writeLong(0);
+        }
+        
+        public void write(Student student) throws IOException {
+            writeString(student.getStudentId());
+            writeString(student.getFirstName());
+            writeString(student.getLastName());
+            LocalDate dateOfBirth = student.getDateOfBirth();
+            out.writeInt(dateOfBirth == null ? NO_DATE : (int) dateOfBirth.toEpochDay());
+            writeString(student.getEmail());
+            writeString(student.getPhone());
+            out.writeByte(departmentCode(student.getDepartment()));
+            out.writeDouble(student.getGpa());
+            out.writeInt(student.getEnrollmentYear());
+            out.writeLong(student.getVersion());
+            count++;
+        }
+        
+        private int departmentCode(String department) {
+            if (department == null) {
+                return NULL_DEPARTMENT;
+            }
+            Integer code = departmentCodes.get(department);
+            if (code == null) {
+                if (departments.size() == NULL_DEPARTMENT) {
+                    throw new IllegalStateException("Too many distinct departments for binary snapshot");
+                }
+                code = departments.size();
+                departments.add(department);
+                departmentCodes.put(department, code);
+            }
+            return code;
+        }
+        
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            long dictionarySize = 2;
+            out.writeShort(departments.size());
+            for (String department : departments) {
+                writeString(department);
+                dictionarySize += 4 + department.getBytes(StandardCharsets.UTF_8).length;
+            }
+            out.close();
+            
+            // DataOutputStream.size() saturates at 2 GB, so take the offset from the file length
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(12);
+                header.putInt(count).putLong(channel.size() - dictionarySize).flip();
+                channel.write(header, 8);
+                channel.force(true);
+            }
+        }
+    }
+    
+    // Reads records through a window buffer refilled from the file channel.
+    // Not memory-mapped: a mapping outlives close() until it is garbage
+    // collected, and on Windows that blocks the compaction from replacing the
+    // file. Every length and offset is checked against the file, so a
+    // truncated or corrupt snapshot fails with an IOException (wrapped in an
+    // UncheckedIOException from next()) rather than a buffer exception.
+    public static class Reader implements StudentCursor {
+        private static final int WINDOW_SIZE = 64 * 1024;
+        // Five string lengths, date of birth, department code, gpa, enrollment year
+        private static final int MIN_RECORD_SIZE = 5 * 4 + 4 + 1 + 8 + 4;
+        
+        private final File file;
+        private final FileChannel channel;
+        private final String[] departments;
+        private final int count;
+        private final boolean versioned;
+        private final long recordsEnd;
+        private ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE);
+        // File offset of the byte after the window's contents, and the offset
+        // reads must not go past
+        private long filePosition;
+        private long limit;
+        private int read;
+        
+        private Reader(File file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                seek(0, size);
+                if (size < HEADER_SIZE || readInt() != MAGIC) {
+                    throw new IOException("Not a student binary snapshot: " + file);
+                }
+                int version = readInt();
+                if (version != 1 && version != VERSION) {
+                    throw new IOException("Unsupported binary snapshot version " + version + ": " + file);
+                }
+                versioned = version >= 2;
+                count = readInt();
+                recordsEnd = readLong();
+                long recordSize = versioned ? MIN_RECORD_SIZE + 8 : MIN_RECORD_SIZE;
+                if (count < 0 || recordsEnd < HEADER_SIZE || recordsEnd > size - 2
+                        || count * recordSize > recordsEnd - HEADER_SIZE) {
+                    throw corrupt();
+                }
+                
+                seek(recordsEnd, size);
+                departments = new String[readShort() & 0xFFFF];
+                for (int i = 0; i < departments.length; i++) {
+                    departments[i] = readString();
+                }
+                if (position() != size) {
+                    throw corrupt();
+                }
+                seek(HEADER_SIZE, recordsEnd);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        
+        public int size() {
+            return count;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return read < count;
+        }
+        
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            read++;
+            try {
+                String studentId = readString();
+                String firstName = readString();
+                String lastName = readString();
+                int epochDay = readInt();
+                String email = readString();
+                String phone = readString();
+                require(1 + 8 + 4);
+                int departmentCode = window.get() & 0xFF;
+                double gpa = window.getDouble();
+                int enrollmentYear = window.getInt();
+                // Records from version 1 files were never edited under versioning
+                long recordVersion = versioned ? readLong() : 0;
+                if (departmentCode != NULL_DEPARTMENT && departmentCode >= departments.length
+                        || read == count && position() != recordsEnd) {
+                    throw corrupt();
+                }
+                Student student = new Student(studentId, firstName, lastName,
+                        epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                        email, phone,
+                        departmentCode == NULL_DEPARTMENT ? null : departments[departmentCode],
+                        gpa, enrollmentYear);
+                student.setVersion(recordVersion);
+                return student;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        private String readString() throws IOException {
+            int length = readInt();
+            if (length < 0) {
+                if (length != -1) {
+                    throw corrupt();
+                }
+                return null;
+            }
+            require(length);
+            String value = new String(window.array(), window.arrayOffset() + window.position(), length, StandardCharsets.UTF_8);
+            window.position(window.position() + length);
+            return value;
+        }
+        
+        private short readShort() throws IOException {
+            require(2);
+            return window.getShort();
+        }
+        
+        private int readInt() throws IOException {
+            require(4);
+            return window.getInt();
+        }
+        
+        private long readLong() throws IOException {
+            require(8);
+            return window.getLong();
+        }
+        
+        // File offset of the next byte to be read
+        private long position() {
+            return filePosition - window.remaining();
+        }
+        
+        private void seek(long position, long newLimit) {
+            window.clear().flip();
+            filePosition = position;
+            limit = newLimit;
+        }
+        
+        // Makes at least the given number of bytes available in the window
+        private void require(int bytes) throws IOException {
+            if (bytes > limit - position()) {
+                throw corrupt();
+            }
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            if (bytes > window.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(bytes, window.capacity() * 2));
+                larger.put(window);
+                window = larger;
+            } else {
+                window.compact();
+            }
+            while (window.position() < bytes) {
+                int n = channel.read(window, filePosition);
+                if (n < 0) {
+                    throw corrupt();
+                }
+                filePosition += n;
+            }
+            window.flip();
+        }
+        
+        private IOException corrupt() {
+            return new IOException("Binary snapshot is truncated or corrupt: " + file);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+// One change to the roster as published by StudentRepository. An update
+// carries both the replaced and the new record, so a view can move a row
+// between groups (e.g. departments) without rescanning. RESET means the
+// changes could not all be delivered and the view must reload.
+public class StudentChangeEvent {
+    public enum Type { ADDED, UPDATED, REMOVED, RESET }
+    
+    private static final StudentChangeEvent RESET = new StudentChangeEvent(Type.RESET, null, null);
+    
+    private final Type type;
+    private final Student before;
+    private final Student after;
+    
+    private StudentChangeEvent(Type type, Student before, Student after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+    
+    public static StudentChangeEvent added(Student student) {
+        return new StudentChangeEvent(Type.ADDED, null, student);
+    }
+    
+    public static StudentChangeEvent updated(Student before, Student after) {
+        return new StudentChangeEvent(Type.UPDATED, before, after);
+    }
+    
+    public static StudentChangeEvent removed(Student student) {
+        return new StudentChangeEvent(Type.REMOVED, student, null);
+    }
+    
+    public static StudentChangeEvent reset() {
+        return RESET;
+    }
+    
+    public Type getType() { return type; }
+    
+    // Null for ADDED and RESET
+    public Student getBefore() { return before; }
+    
+    // Null for REMOVED and RESET
+    public Student getAfter() { return after; }
+    
+    // True if the set of rows changed, not just the values in one of them
+    public boolean changesMembership() {
+        return type != Type.UPDATED || !before.getStudentId().equals(after.getStudentId());
+    }
+    
+    @Override
+    public String toString() {
+        Student student = after != null ? after : before;
+        return "StudentChangeEvent{type=" + type
+                + (student != null ? ", studentId='" + student.getStudentId() + "'" : "") + "}";
+    }
+}
@@ -0,0 +1,56 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// An edit was made against a version of a student that is no longer the
+// stored one: someone else changed or deleted the record in the meantime.
+public class StudentConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    private final List<String> studentIds;
+    private final Student current;
+    
+    // current is the stored record, or null if it has been deleted
+    public StudentConflictException(String studentId, Student current) {
+        super(current == null
+                ? "Student " + studentId + " was deleted by someone else"
+                : "Student " + studentId + " was changed by someone else");
+        this.studentIds = List.of(studentId);
+        this.current = current;
+    }
+    
+    // Queued changes that were rejected when written, because another
+    // instance had saved the same students first; takes the stored state
+    // of each of those students
+    public StudentConflictException(List<StudentMutation> stored) {
+        super(describe(stored));
+        List<String> ids = new ArrayList<>(stored.size());
+        for (StudentMutation mutation : stored) {
+            ids.add(mutation.getStudentId());
+        }
+        this.studentIds = List.copyOf(ids);
+        this.current = null;
+    }
+    
+    private static String describe(List<StudentMutation> rejected) {
+        if (rejected.size() == 1) {
+            return "Your change to student " + rejected.get(0).getStudentId()
+                    + " was not saved because someone else changed it first";
+        }
+        return "Your changes to " + rejected.size()
+                + " students were not saved because someone else changed them first";
+    }
+    
+    public List<String> getStudentIds() {
+        return studentIds;
+    }
+    
+    // Null for a deleted record and for rejected queued changes, whose
+    // current versions have already been loaded into the repository
+    public Student getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,10 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+// Forward-only stream of students backed by a file
+public interface StudentCursor extends Iterator<Student>, Closeable {
+}
@@ -0,0 +1,100 @@
+package com.studentmanagement.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// Delivers roster changes to subscribers in batches. publish() only queues
+// the events, so it is cheap enough to call under the repository's write
+// lock. Each subscriber has one delivery at a time scheduled on its executor;
+// everything published before that delivery runs arrives in the same batch,
+// so with Platform::runLater a burst of edits becomes one FX pulse.
+// A subscriber whose queue grows past the capacity gets a single RESET
+// instead of the backlog.
+public class StudentEventBus {
+    private static final int DEFAULT_CAPACITY = 4096;
+    
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final int capacity;
+    
+    public StudentEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public StudentEventBus(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Subscription subscribe(Consumer<List<StudentChangeEvent>> listener, Executor executor) {
+        Subscription subscription = new Subscription(listener, executor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+    
+    public void publish(StudentChangeEvent event) {
+        publish(List.of(event));
+    }
+    
+    public void publish(List<StudentChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.enqueue(events);
+        }
+    }
+    
+    public class Subscription {
+        private final Consumer<List<StudentChangeEvent>> listener;
+        private final Executor executor;
+        private List<StudentChangeEvent> pending = new ArrayList<>();
+        private boolean overflowed;
+        private boolean scheduled;
+        private volatile boolean cancelled;
+        
+        private Subscription(Consumer<List<StudentChangeEvent>> listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+        
+        private synchronized void enqueue(List<StudentChangeEvent> events) {
+            if (cancelled) {
+                return;
+            }
+            if (!overflowed) {
+                if (pending.size() + events.size() > capacity) {
+                    // The subscriber reloads anyway, so the backlog is dropped
+                    pending = new ArrayList<>();
+                    overflowed = true;
+                } else {
+                    pending.addAll(events);
+                }
+            }
+            if (!scheduled) {
+                scheduled = true;
+                executor.execute(this::deliver);
+            }
+        }
+        
+        private void deliver() {
+            List<StudentChangeEvent> batch;
+            synchronized (this) {
+                batch = overflowed ? List.of(StudentChangeEvent.reset()) : pending;
+                pending = new ArrayList<>();
+                overflowed = false;
+                scheduled = false;
+            }
+            if (!cancelled && !batch.isEmpty()) {
+                listener.accept(batch);
+            }
+        }
+        
+        // Stops deliveries, including a batch that is already scheduled
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+    }
+}
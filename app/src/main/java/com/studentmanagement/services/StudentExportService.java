@@ -0,0 +1,136 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.CsvWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+// Streams students to CSV or JSON lines, optionally gzipped. Rows are pulled
+// from a ChunkSource a chunk at a time and written through a buffered writer,
+// so memory use does not grow with the export. Output goes to a temporary
+// file that replaces the target only once the export completes.
+public class StudentExportService {
+    private static final int CHUNK_SIZE = 2000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] CSV_HEADER = {
+        "studentId", "firstName", "lastName", "dateOfBirth", "email",
+        "phone", "department", "gpa", "enrollmentYear"
+    };
+    
+    public enum Format { CSV, JSON_LINES }
+    
+    // Supplies the next rows to export; an empty chunk ends the export
+    public interface ChunkSource {
+        List<Student> nextChunk(int limit);
+    }
+    
+    // Exports a list the caller owns, e.g. a search result
+    public static ChunkSource chunksOf(List<Student> students) {
+        return new ChunkSource() {
+            private int position;
+            
+            @Override
+            public List<Student> nextChunk(int limit) {
+                int end = Math.min(students.size(), position + limit);
+                List<Student> chunk = new ArrayList<>(students.subList(position, end));
+                position = end;
+                return chunk;
+            }
+        };
+    }
+    
+    // Walks a query result by keyset, so it tolerates edits between chunks
+    public static ChunkSource chunksOf(StudentQueryResult result) {
+        return new ChunkSource() {
+            private Student last;
+            
+            @Override
+            public List<Student> nextChunk(int limit) {
+                List<Student> chunk = result.fetchAfter(last, limit);
+                if (!chunk.isEmpty()) {
+                    last = chunk.get(chunk.size() - 1);
+                }
+                return chunk;
+            }
+        };
+    }
+    
+    // Format and compression follow the file name: .csv, .jsonl, optionally + .gz
+    public static long export(ChunkSource source, File target, LongConsumer progress) throws IOException {
+        String name = target.getName().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        Format format = name.endsWith(".csv") ? Format.CSV : Format.JSON_LINES;
+        return export(source, target, format, gzip, progress);
+    }
+    
+    // Returns the number of rows written. Throws CancellationException if the
+    // calling thread is interrupted; the target is then left untouched.
+    public static long export(ChunkSource source, File target, Format format, boolean gzip,
+                              LongConsumer progress) throws IOException {
+        File partial = new File(target.getAbsoluteFile().getParentFile(), target.getName() + ".part");
+        long rows = 0;
+        boolean complete = false;
+        try {
+            // All three are resources, so the file is closed even if the gzip
+            // header cannot be written; closing twice is harmless
+            try (OutputStream file = new FileOutputStream(partial);
+                 OutputStream out = gzip ? new GZIPOutputStream(file, BUFFER_SIZE) : file;
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                CsvWriter csv = format == Format.CSV ? new CsvWriter(writer) : null;
+                if (csv != null) {
+                    csv.writeRecord(CSV_HEADER);
+                }
+                List<Student> chunk;
+                while (!(chunk = source.nextChunk(CHUNK_SIZE)).isEmpty()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Export cancelled");
+                    }
+                    for (Student student : chunk) {
+                        if (csv != null) {
+                            writeCsv(csv, student);
+                        } else {
+                            JsonDataService.writeStudent(student, writer);
+                            writer.write('\n');
+                        }
+                    }
+                    rows += chunk.size();
+                    if (progress != null) {
+                        progress.accept(rows);
+                    }
+                }
+            }
+            Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            complete = true;
+        } finally {
+            if (!complete) {
+                partial.delete();
+            }
+        }
+        return rows;
+    }
+    
+    private static void writeCsv(CsvWriter csv, Student student) throws IOException {
+        csv.writeRecord(
+                student.getStudentId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getDateOfBirth() == null ? null : student.getDateOfBirth().toString(),
+                student.getEmail(),
+                student.getPhone(),
+                student.getDepartment(),
+                String.valueOf(student.getGpa()),
+                String.valueOf(student.getEnrollmentYear()));
+    }
+}
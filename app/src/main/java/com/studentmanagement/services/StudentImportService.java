@@ -0,0 +1,330 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.CsvReader;
+import com.studentmanagement.utils.StudentValidator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+// Bulk import of CSV (with a header row) or JSON-lines files.
+// Rows are read in batches; each batch is validated in parallel by a
+// StudentValidator, checked for IDs repeated within the file, and handed to
+// a BatchCommitter, which adds the accepted rows with one journal write.
+// Rejected rows go to a CSV report.
+public class StudentImportService {
+    private static final int BATCH_SIZE = 5000;
+    private static final String[] CSV_COLUMNS = {
+        "studentid", "firstname", "lastname", "dateofbirth", "email",
+        "phone", "department", "gpa", "enrollmentyear"
+    };
+    
+    // Adds a batch of validated students; returns the ones refused as duplicates
+    public interface BatchCommitter {
+        List<Student> commit(List<Student> batch);
+    }
+    
+    public static boolean isCsv(File file) {
+        return file.getName().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+    
+    // Commits straight into the repository; the report is written next to the source file
+    public static ImportResult importStudents(File source, StudentRepository repository) throws IOException {
+        return importStudents(source, defaultReportFile(source), repository::addAll, null);
+    }
+    
+    public static File defaultReportFile(File source) {
+        return new File(source.getAbsoluteFile().getParentFile(), source.getName() + ".rejected.csv");
+    }
+    
+    public static ImportResult importStudents(File source, File reportFile, BatchCommitter committer,
+                                              LongConsumer progress) throws IOException {
+        long start = System.nanoTime();
+        RowSource rows = isCsv(source) ? new CsvRows(source) : new JsonLineRows(source);
+        Set<String> seenIds = new HashSet<>();
+        long read = 0;
+        long accepted = 0;
+        long rejected = 0;
+        
+        try (RowSource in = rows; RejectReport report = new RejectReport(reportFile)) {
+            List<Row> batch = new ArrayList<>(BATCH_SIZE);
+            while (true) {
+                batch.clear();
+                Row row;
+                while (batch.size() < BATCH_SIZE && (row = in.next()) != null) {
+                    batch.add(row);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                read += batch.size();
+                
+                validate(batch);
+                
+                List<Student> valid = new ArrayList<>(batch.size());
+                Map<String, Row> rowById = new HashMap<>();
+                for (Row r : batch) {
+                    if (r.errors.isEmpty() && !seenIds.add(r.student.getStudentId())) {
+                        r.errors.add("Duplicate student ID in file");
+                    }
+                    if (r.errors.isEmpty()) {
+                        valid.add(r.student);
+                        rowById.put(r.student.getStudentId(), r);
+                    } else {
+                        report.write(r);
+                        rejected++;
+                    }
+                }
+                
+                List<Student> duplicates = committer.commit(valid);
+                for (Student duplicate : duplicates) {
+                    Row r = rowById.get(duplicate.getStudentId());
+                    r.errors.add("Student ID already exists");
+                    report.write(r);
+                }
+                accepted += valid.size() - duplicates.size();
+                rejected += duplicates.size();
+                
+                if (progress != null) {
+                    progress.accept(read);
+                }
+            }
+        }
+        return new ImportResult(read, accepted, rejected, System.nanoTime() - start,
+                rejected > 0 ? reportFile : null);
+    }
+    
+    // Validates the parsed rows in parallel; the validator reads the clock once per batch
+    private static void validate(List<Row> batch) {
+        List<Row> parsed = new ArrayList<>(batch.size());
+        List<Student> students = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (row.student != null) {
+                parsed.add(row);
+                students.add(row.student);
+            }
+        }
+        List<Set<StudentValidator.Violation>> violations = new StudentValidator().validateAll(students);
+        for (int i = 0; i < parsed.size(); i++) {
+            for (StudentValidator.Violation violation : violations.get(i)) {
+                parsed.get(i).errors.add(violation.getMessage());
+            }
+        }
+    }
+    
+    public static class ImportResult {
+        private final long rowsRead;
+        private final long accepted;
+        private final long rejected;
+        private final long elapsedNanos;
+        private final File rejectReport;
+        
+        ImportResult(long rowsRead, long accepted, long rejected, long elapsedNanos, File rejectReport) {
+            this.rowsRead = rowsRead;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+            this.rejectReport = rejectReport;
+        }
+        
+        public long getRowsRead() { return rowsRead; }
+        
+        public long getAccepted() { return accepted; }
+        
+        public long getRejected() { return rejected; }
+        
+        public long getElapsedNanos() { return elapsedNanos; }
+        
+        // Null when every row was accepted
+        public File getRejectReport() { return rejectReport; }
+        
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d rows read, %d imported, %d rejected in %.2f s (%.0f rows/sec)",
+                    rowsRead, accepted, rejected, elapsedNanos / 1e9, getRowsPerSecond());
+        }
+    }
+    
+    private static class Row {
+        final long line;
+        final String studentId;
+        final Student student;
+        final List<String> errors = new ArrayList<>(1);
+        
+        Row(long line, Student student) {
+            this.line = line;
+            this.studentId = student.getStudentId();
+            this.student = student;
+        }
+        
+        // A row that could not be parsed at all
+        Row(long line, String studentId, String error) {
+            this.line = line;
+            this.studentId = studentId;
+            this.student = null;
+            errors.add(error);
+        }
+    }
+    
+    private interface RowSource extends Closeable {
+        // Next row, or null at end of file
+        Row next() throws IOException;
+    }
+    
+    private static BufferedReader open(File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), 64 * 1024);
+    }
+    
+    private static class CsvRows implements RowSource {
+        private final CsvReader reader;
+        private final int[] columnIndex = new int[CSV_COLUMNS.length];
+        private final int columnCount;
+        
+        CsvRows(File file) throws IOException {
+            reader = new CsvReader(open(file));
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IOException("CSV file is empty: " + file);
+            }
+            // Match header names loosely, e.g. "Student ID", "student_id" and "studentId"
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.put(header.get(i).replaceAll("[\\s_\\-\\uFEFF]", "").toLowerCase(Locale.ROOT), i);
+            }
+            for (int c = 0; c < CSV_COLUMNS.length; c++) {
+                columnIndex[c] = positions.getOrDefault(CSV_COLUMNS[c], -1);
+            }
+            if (columnIndex[0] < 0) {
+                reader.close();
+                throw new IOException("CSV header has no studentId column: " + file);
+            }
+            columnCount = header.size();
+        }
+        
+        @Override
+        public Row next() throws IOException {
+            List<String> fields = reader.readRecord();
+            if (fields == null) {
+                return null;
+            }
+            long line = reader.getRecordLine();
+            String studentId = field(fields, 0);
+            if (fields.size() != columnCount) {
+                return new Row(line, studentId, "Expected " + columnCount + " fields but found " + fields.size());
+            }
+            try {
+                String dateOfBirth = field(fields, 3);
+                String gpa = field(fields, 7);
+                String enrollmentYear = field(fields, 8);
+                return new Row(line, new Student(studentId, field(fields, 1), field(fields, 2),
+                        dateOfBirth == null ? null : LocalDate.parse(dateOfBirth),
+                        field(fields, 4), field(fields, 5), field(fields, 6),
+                        gpa == null ? -1 : Double.parseDouble(gpa),
+                        enrollmentYear == null ? 0 : Integer.parseInt(enrollmentYear)));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return new Row(line, studentId, "Unparseable value: " + e.getMessage());
+            }
+        }
+        
+        private String field(List<String> fields, int column) {
+            int index = columnIndex[column];
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+    
+    private static class JsonLineRows implements RowSource {
+        private final BufferedReader reader;
+        private long lineNumber;
+        
+        JsonLineRows(File file) throws IOException {
+            reader = open(file);
+        }
+        
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            
+            try {
+                Student student = JsonDataService.parseStudent(line);
+                if (student == null) {
+                    return new Row(lineNumber, null, "Not a student record");
+                }
+                return new Row(lineNumber, student);
+            } catch (RuntimeException e) {
+                // One bad line must not end the import, whatever the JSON
+                // or date parsing throws for it
+                return new Row(lineNumber, null, "Malformed JSON: " + e.getMessage());
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+    
+    // CSV of rejected rows: source line, student ID and every reason. The file
+    // is only created once the first rejection comes in.
+    private static class RejectReport implements Closeable {
+        private final File file;
+        private Writer writer;
+        
+        RejectReport(File file) {
+            this.file = file;
+            // Don't leave a report from an earlier import lying around
+            file.delete();
+        }
+        
+        void write(Row row) throws IOException {
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+                writer.write("line,studentId,reason\n");
+            }
+            writer.write(row.line + "," + quote(row.studentId) + "," + quote(String.join("; ", row.errors)) + "\n");
+        }
+        
+        private static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
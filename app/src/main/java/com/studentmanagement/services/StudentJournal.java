@@ -0,0 +1,621 @@
+package com.studentmanagement.services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.Metrics;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Append-only change log kept next to the students.json snapshot.
+// Each mutation is one JSON line; the snapshot is rewritten in the background
+// once the log grows past the compaction threshold. Every snapshot rewrite
+// also produces students.bin, which loads much faster than the JSON.
+//
+// Several app instances may share the files. Changes to them are made under
+// an exclusive FileChannel lock on students.lock, and before each append the
+// records other instances added since our last read are picked up and passed
+// to the external change listener. An appended change whose student another
+// instance saved in the meantime, at a version other than the one the change
+// was based on, is rejected instead of written, and the record that instance
+// saved is returned in its place.
+public class StudentJournal {
+    private static final long DEFAULT_COMPACT_BYTES = 1024 * 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    
+    private final File snapshotFile;
+    private final File binaryFile;
+    private final File logFile;
+    private final File compactingLogFile;
+    private final File lockFile;
+    private final Gson gson;
+    private final long compactThreshold;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "student-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private FileChannel logChannel;
+    private FileChannel lockChannel;
+    private boolean compacting;
+    private Object compactingKey;
+    private long generation;
+    // Revision changes whenever the roster changes other than through a log
+    // record, i.e. a snapshot rewritten here or by another process
+    private long revision;
+    private long fileStamp;
+    
+    // How far the log has been read: its file identity and byte offset
+    private boolean synced;
+    private Object logKey;
+    private long logPosition;
+    // Latest change other instances saved for each student they touched,
+    // until a change from here supersedes it
+    private final Map<String, StudentMutation> externalChanges = new HashMap<>();
+    private volatile Consumer<List<StudentMutation>> externalChangeListener;
+    
+    public StudentJournal(File snapshotFile, Gson gson) {
+        this(snapshotFile, gson, Long.getLong("sms.journal.compactBytes", DEFAULT_COMPACT_BYTES));
+    }
+    
+    public StudentJournal(File snapshotFile, Gson gson, long compactThreshold) {
+        this.snapshotFile = snapshotFile;
+        this.binaryFile = siblingFile(snapshotFile, ".bin");
+        this.logFile = siblingFile(snapshotFile, ".log");
+        this.compactingLogFile = siblingFile(snapshotFile, ".log.compacting");
+        this.lockFile = siblingFile(snapshotFile, ".lock");
+        this.gson = gson;
+        this.compactThreshold = compactThreshold;
+    }
+    
+    private static File siblingFile(File file, String suffix) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return new File(file.getAbsoluteFile().getParentFile(), base + suffix);
+    }
+    
+    // Called with records other instances appended, outside this journal's lock
+    public void setExternalChangeListener(Consumer<List<StudentMutation>> listener) {
+        this.externalChangeListener = listener;
+    }
+    
+    // Writes the mutations that do not conflict with changes saved by other
+    // instances. For each one that does, returns that instance's change.
+    public List<StudentMutation> append(List<StudentMutation> mutations) throws IOException {
+        if (mutations.isEmpty()) {
+            return List.of();
+        }
+        List<StudentMutation> external;
+        Set<String> rejectedIds = new HashSet<>();
+        List<StudentMutation> stored = new ArrayList<>();
+        synchronized (this) {
+            FileLock lock = lockFiles();
+            try {
+                external = catchUp();
+                StringBuilder lines = new StringBuilder();
+                for (StudentMutation mutation : mutations) {
+                    StudentMutation saved = externalChanges.get(mutation.getStudentId());
+                    if (saved != null && saved.getVersion() != mutation.getBaseVersion()) {
+                        rejectedIds.add(mutation.getStudentId());
+                        stored.add(saved);
+                    } else {
+                        lines.append(gson.toJson(mutation)).append('\n');
+                    }
+                }
+                
+                if (lines.length() > 0) {
+                    FileChannel channel = openLog();
+                    ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                    logPosition = channel.size();
+                    for (StudentMutation mutation : mutations) {
+                        if (!rejectedIds.contains(mutation.getStudentId())) {
+                            externalChanges.remove(mutation.getStudentId());
+                        }
+                    }
+                    
+                    if (channel.size() >= compactThreshold && !compacting) {
+                        startCompaction();
+                    }
+                }
+            } finally {
+                lock.release();
+            }
+        }
+        deliver(external);
+        return stored;
+    }
+    
+    // Picks up records other instances have appended since the last read
+    public void refresh() throws IOException {
+        List<StudentMutation> external;
+        synchronized (this) {
+            FileLock lock = lockFiles();
+            try {
+                external = catchUp();
+            } finally {
+                lock.release();
+            }
+        }
+        deliver(external);
+    }
+    
+    // Replays snapshot plus log so every record reflects its latest mutation.
+    // Only the log is held in memory; the snapshot is streamed.
+    public synchronized void forEach(Consumer<Student> action) throws IOException {
+        FileLock lock = lockFiles();
+        try {
+            Map<String, StudentMutation> pending = new LinkedHashMap<>();
+            readLog(compactingLogFile, pending);
+            readLog(logFile, pending);
+            
+            try (MergingIterator merged = new MergingIterator(pending)) {
+                while (merged.hasNext()) {
+                    action.accept(merged.next());
+                }
+            }
+            // Everything on disk is now known; later reads start from here
+            markSynced();
+            fileStamp = currentFileStamp();
+        } finally {
+            lock.release();
+        }
+    }
+    
+    // Replaces the snapshot outright; everything logged so far is superseded
+    public synchronized void writeSnapshot(Iterator<Student> students) throws IOException {
+        FileLock lock = lockFiles();
+        try {
+            generation++;
+            replaceSnapshot(students);
+            closeLog();
+            Files.deleteIfExists(logFile.toPath());
+            Files.deleteIfExists(compactingLogFile.toPath());
+            markSynced();
+            revision++;
+            fileStamp = currentFileStamp();
+        } finally {
+            lock.release();
+        }
+    }
+    
+    // Lets a running compaction finish, then closes the log and lock files.
+    // The journal cannot be written after this.
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeLog();
+            if (lockChannel != null) {
+                lockChannel.close();
+                lockChannel = null;
+            }
+        }
+    }
+    
+    // Bytes held by the snapshot, its binary mirror and the journal
+    public long sizeOnDisk() {
+        return snapshotFile.length() + binaryFile.length() + logFile.length() + compactingLogFile.length();
+    }
+    
+    public long getRevision() {
+        List<StudentMutation> external = List.of();
+        long current;
+        synchronized (this) {
+            try {
+                FileLock lock = lockFiles();
+                try {
+                    external = catchUp();
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                // Unreadable log; the snapshot check below still applies
+            }
+            refreshRevision();
+            current = revision;
+        }
+        deliver(external);
+        return current;
+    }
+    
+    // Log records are picked up incrementally, so only a snapshot replaced
+    // behind this journal's back forces callers to reload
+    private void refreshRevision() {
+        long stamp = currentFileStamp();
+        if (stamp != fileStamp) {
+            fileStamp = stamp;
+            revision++;
+        }
+    }
+    
+    private long currentFileStamp() {
+        return Objects.hash(snapshotFile.lastModified(), snapshotFile.length());
+    }
+    
+    // Caller holds the monitor, so at most one thread per process waits here
+    private FileLock lockFiles() throws IOException {
+        if (lockChannel == null || !lockChannel.isOpen()) {
+            lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return lockChannel.lock();
+    }
+    
+    // Reads what other instances appended since the last read. Caller holds
+    // the monitor and the file lock.
+    private List<StudentMutation> catchUp() throws IOException {
+        Object currentKey = fileKey(logFile);
+        if (!synced) {
+            // Nothing loaded through this journal yet, so there is nothing to merge into
+            markSynced();
+            return List.of();
+        }
+        
+        List<StudentMutation> external = new ArrayList<>();
+        long from = logPosition;
+        if (logKey != null && !logKey.equals(currentKey)) {
+            if (logKey.equals(fileKey(compactingLogFile))) {
+                // Another instance rotated the log; finish the rotated part first
+                readLog(compactingLogFile, logPosition, external);
+                from = 0;
+            } else {
+                // Compacted or replaced elsewhere: records may have gone straight
+                // into a new snapshot, so callers have to reload
+                markSynced();
+                revision++;
+                return List.of();
+            }
+        } else if (logKey == null) {
+            from = 0;
+        }
+        logPosition = currentKey != null ? readLog(logFile, from, external) : 0;
+        logKey = currentKey;
+        for (StudentMutation mutation : external) {
+            externalChanges.put(mutation.getStudentId(), mutation);
+        }
+        return external;
+    }
+    
+    private void markSynced() throws IOException {
+        synced = true;
+        logKey = fileKey(logFile);
+        logPosition = logKey != null ? Files.size(logFile.toPath()) : 0;
+        externalChanges.clear();
+    }
+    
+    private void deliver(List<StudentMutation> external) {
+        Consumer<List<StudentMutation>> listener = externalChangeListener;
+        if (!external.isEmpty() && listener != null) {
+            listener.accept(external);
+        }
+    }
+    
+    // Identity that survives a rename, or null if the file does not exist.
+    // Windows has no file key, but keeps the creation time across a rename.
+    private static Object fileKey(File file) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+    
+    private void replaceSnapshot(Iterator<Student> students) throws IOException {
+        File tempFile = siblingFile(snapshotFile, ".json.tmp");
+        File tempBinaryFile = siblingFile(snapshotFile, ".bin.tmp");
+        writeSnapshotFiles(students, tempFile, tempBinaryFile);
+        installSnapshotFiles(tempFile, tempBinaryFile);
+    }
+    
+    // Writes the JSON snapshot and its binary mirror in a single pass
+    private void writeSnapshotFiles(Iterator<Student> students, File jsonTarget, File binaryTarget) throws IOException {
+        try (StudentBinarySnapshot.Writer binary = StudentBinarySnapshot.openWriter(binaryTarget)) {
+            JsonDataService.writeStudents(jsonTarget, new Iterator<Student>() {
+                @Override
+                public boolean hasNext() {
+                    return students.hasNext();
+                }
+                
+                @Override
+                public Student next() {
+                    Student student = students.next();
+                    try {
+                        binary.write(student);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return student;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try (FileChannel channel = FileChannel.open(jsonTarget.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+    
+    // JSON first, binary second, so the binary file is never newer than a
+    // snapshot it does not match
+    private void installSnapshotFiles(File jsonSource, File binarySource) throws IOException {
+        Files.move(jsonSource.toPath(), snapshotFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(binarySource.toPath(), binaryFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    // Prefer the binary mirror unless students.json was changed after it was written
+    private StudentCursor openSnapshot() throws IOException {
+        if (binaryFile.exists() && (!snapshotFile.exists() || binaryFile.lastModified() >= snapshotFile.lastModified())) {
+            try {
+                return StudentBinarySnapshot.openReader(binaryFile);
+            } catch (IOException e) {
+                // Corrupt or unsupported mirror; fall back to JSON
+            }
+        }
+        return snapshotFile.exists() ? new JsonDataService.StudentReader(snapshotFile) : null;
+    }
+    
+    private void startCompaction() throws IOException {
+        // A compaction interrupted by a crash leaves its rotated log behind;
+        // finish that one first and rotate the current log next time
+        if (!compactingLogFile.exists()) {
+            closeLog();
+            Files.move(logFile.toPath(), compactingLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        compacting = true;
+        compactingKey = fileKey(compactingLogFile);
+        long startGeneration = generation;
+        compactor.execute(() -> compact(startGeneration));
+    }
+    
+    private void compact(long startGeneration) {
+        File mergedFile = siblingFile(snapshotFile, ".json.compacting");
+        File mergedBinaryFile = siblingFile(snapshotFile, ".bin.compacting");
+        try {
+            Map<String, StudentMutation> pending = new LinkedHashMap<>();
+            readLog(compactingLogFile, pending);
+            
+            try (MergingIterator merged = new MergingIterator(pending)) {
+                writeSnapshotFiles(merged, mergedFile, mergedBinaryFile);
+            }
+            
+            synchronized (this) {
+                FileLock lock = lockFiles();
+                try {
+                    // Skip if the roster was replaced, or another instance already
+                    // compacted this log, while the merge was running
+                    if (generation == startGeneration && Objects.equals(compactingKey, fileKey(compactingLogFile))) {
+                        refreshRevision();
+                        installSnapshotFiles(mergedFile, mergedBinaryFile);
+                        Files.deleteIfExists(compactingLogFile.toPath());
+                        fileStamp = currentFileStamp();
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Metrics.error("storage.compaction", e);
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+            mergedFile.delete();
+            mergedBinaryFile.delete();
+        }
+    }
+    
+    private void readLog(File file, Map<String, StudentMutation> pending) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                StudentMutation mutation;
+                try {
+                    mutation = gson.fromJson(line, StudentMutation.class);
+                } catch (JsonParseException e) {
+                    // Torn write from a crash; the record never committed
+                    continue;
+                }
+                if (mutation == null || mutation.getOp() == null || mutation.getStudentId() == null) {
+                    continue;
+                }
+                // Re-insert so the map keeps the order of the latest mutation
+                pending.remove(mutation.getStudentId());
+                pending.put(mutation.getStudentId(), mutation);
+            }
+        }
+    }
+    
+    // Reads the records from a byte offset on, in order; returns the offset reached
+    private long readLog(File file, long from, List<StudentMutation> mutations) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long end = channel.size();
+            if (from >= end) {
+                return end;
+            }
+            channel.position(from);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    StudentMutation mutation = gson.fromJson(line, StudentMutation.class);
+                    if (mutation != null && mutation.getOp() != null && mutation.getStudentId() != null) {
+                        mutations.add(mutation);
+                    }
+                } catch (JsonParseException e) {
+                    // Torn write from a crash; the record never committed
+                }
+            }
+            return end;
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+    
+    // Reopens if another instance has rotated or deleted the file since
+    private FileChannel openLog() throws IOException {
+        if (logChannel != null && !Objects.equals(logKey, fileKey(logFile))) {
+            closeLog();
+        }
+        if (logChannel == null || !logChannel.isOpen()) {
+            logChannel = FileChannel.open(logFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            logChannel.position(logChannel.size());
+            terminateTornRecord(logChannel);
+            logKey = fileKey(logFile);
+        }
+        return logChannel;
+    }
+    
+    // Start on a fresh line so a record torn by a crash cannot swallow the next one
+    private void terminateTornRecord(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+        }
+    }
+    
+    private void closeLog() throws IOException {
+        if (logChannel != null) {
+            logChannel.close();
+            logChannel = null;
+        }
+    }
+    
+    // Streams the snapshot while substituting records from the rotated log
+    private class MergingIterator implements Iterator<Student>, Closeable {
+        private final Map<String, StudentMutation> pending;
+        private StudentCursor reader;
+        private int snapshotRead;
+        private Iterator<StudentMutation> remaining;
+        private Student next;
+        
+        MergingIterator(Map<String, StudentMutation> pending) throws IOException {
+            this.pending = pending;
+            this.reader = openSnapshot();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (reader != null && remaining == null && reader.hasNext()) {
+                    Student student = readSnapshot();
+                    if (student == null) {
+                        continue;
+                    }
+                    StudentMutation mutation = pending.remove(student.getStudentId());
+                    if (mutation == null) {
+                        next = student;
+                    } else if (mutation.getOp() == StudentMutation.Type.PUT) {
+                        next = mutation.getStudent();
+                    }
+                    continue;
+                }
+                if (remaining == null) {
+                    remaining = pending.values().iterator();
+                }
+                if (!remaining.hasNext()) {
+                    return false;
+                }
+                StudentMutation mutation = remaining.next();
+                if (mutation.getOp() == StudentMutation.Type.PUT) {
+                    next = mutation.getStudent();
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Student student = next;
+            next = null;
+            return student;
+        }
+        
+        // A binary mirror found corrupt part way through is abandoned for
+        // students.json, which holds the same records in the same order;
+        // null once the switch is made, to check the JSON reader for more
+        private Student readSnapshot() {
+            try {
+                Student student = reader.next();
+                snapshotRead++;
+                return student;
+            } catch (UncheckedIOException e) {
+                if (!(reader instanceof StudentBinarySnapshot.Reader) || !snapshotFile.exists()) {
+                    throw e;
+                }
+                try {
+                    reader.close();
+                    reader = new JsonDataService.StudentReader(snapshotFile);
+                    for (int i = 0; i < snapshotRead && reader.hasNext(); i++) {
+                        reader.next();
+                    }
+                } catch (IOException fallbackFailure) {
+                    e.addSuppressed(fallbackFailure);
+                    throw e;
+                }
+                return null;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+public class StudentMutation {
+    public enum Type { PUT, DELETE }
+    
+    // Base version of a record that did not exist yet
+    public static final long ABSENT = -1;
+    
+    private Type op;
+    private String studentId;
+    private Student student;
+    // Version of the stored record this change was made against. Used for the
+    // compare-and-set when the change is written; not part of the journal line.
+    private transient long baseVersion = ABSENT;
+    
+    public StudentMutation() {}
+    
+    private StudentMutation(Type op, String studentId, Student student, long baseVersion) {
+        this.op = op;
+        this.studentId = studentId;
+        this.student = student;
+        this.baseVersion = baseVersion;
+    }
+    
+    public static StudentMutation put(Student student, long baseVersion) {
+        return new StudentMutation(Type.PUT, student.getStudentId(), student, baseVersion);
+    }
+    
+    public static StudentMutation delete(String studentId, long baseVersion) {
+        return new StudentMutation(Type.DELETE, studentId, null, baseVersion);
+    }
+    
+    // Same change against an earlier base, for when queued edits are coalesced
+    public StudentMutation rebase(long baseVersion) {
+        return new StudentMutation(op, studentId, student, baseVersion);
+    }
+    
+    public Type getOp() { return op; }
+    
+    public String getStudentId() { return studentId; }
+    
+    public Student getStudent() { return student; }
+    
+    public long getBaseVersion() { return baseVersion; }
+    
+    // Version of the record once this change is applied; ABSENT after a delete
+    public long getVersion() {
+        return op == Type.PUT && student != null ? student.getVersion() : ABSENT;
+    }
+    
+    @Override
+    public String toString() {
+        return "StudentMutation{op=" + op + ", studentId='" + studentId + "'}";
+    }
+}
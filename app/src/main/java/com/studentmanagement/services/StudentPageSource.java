@@ -0,0 +1,28 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Random-access source of student rows fetched a page at a time
+public interface StudentPageSource {
+    int size();
+    
+    List<Student> fetchPage(int offset, int limit);
+    
+    static StudentPageSource of(List<Student> students) {
+        return new StudentPageSource() {
+            @Override
+            public int size() {
+                return students.size();
+            }
+            
+            @Override
+            public List<Student> fetchPage(int offset, int limit) {
+                int end = Math.min(students.size(), offset + limit);
+                return offset >= end ? new ArrayList<>() : new ArrayList<>(students.subList(offset, end));
+            }
+        };
+    }
+}
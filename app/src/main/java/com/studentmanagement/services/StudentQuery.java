@@ -0,0 +1,112 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+// Filter and sort specification run by StudentRepository.query().
+// Filters combine with AND; unset ranges are unbounded.
+public class StudentQuery {
+    public enum SortField {
+        STUDENT_ID(Comparator.comparing(Student::getStudentId, nullsFirst())),
+        FIRST_NAME(Comparator.comparing(Student::getFirstName, nullsFirst())),
+        LAST_NAME(Comparator.comparing(Student::getLastName, nullsFirst())
+                .thenComparing(Student::getFirstName, nullsFirst())),
+        EMAIL(Comparator.comparing(Student::getEmail, nullsFirst())),
+        DEPARTMENT(Comparator.comparing(Student::getDepartment, nullsFirst())),
+        GPA(Comparator.comparingDouble(Student::getGpa)),
+        ENROLLMENT_YEAR(Comparator.comparingInt(Student::getEnrollmentYear));
+        
+        private final Comparator<Student> comparator;
+        
+        SortField(Comparator<Student> keyOrder) {
+            // Student ID breaks ties so every index is a strict total order
+            this.comparator = keyOrder.thenComparing(Student::getStudentId, nullsFirst());
+        }
+        
+        public Comparator<Student> comparator() {
+            return comparator;
+        }
+        
+        private static Comparator<String> nullsFirst() {
+            return Comparator.nullsFirst(Comparator.naturalOrder());
+        }
+    }
+    
+    private String department;
+    private double minGpa = Double.NEGATIVE_INFINITY;
+    private double maxGpa = Double.POSITIVE_INFINITY;
+    private int minEnrollmentYear = Integer.MIN_VALUE;
+    private int maxEnrollmentYear = Integer.MAX_VALUE;
+    private Predicate<Student> filter;
+    private SortField sortField = SortField.STUDENT_ID;
+    private boolean descending;
+    
+    public static StudentQuery all() {
+        return new StudentQuery();
+    }
+    
+    public StudentQuery department(String department) {
+        this.department = department;
+        return this;
+    }
+    
+    public StudentQuery gpaBetween(double min, double max) {
+        this.minGpa = min;
+        this.maxGpa = max;
+        return this;
+    }
+    
+    public StudentQuery enrolledBetween(int fromYear, int toYear) {
+        this.minEnrollmentYear = fromYear;
+        this.maxEnrollmentYear = toYear;
+        return this;
+    }
+    
+    public StudentQuery enrolledAfter(int year) {
+        return enrolledBetween(year + 1, Integer.MAX_VALUE);
+    }
+    
+    // Extra predicate, combined with any earlier one
+    public StudentQuery where(Predicate<Student> predicate) {
+        this.filter = filter == null ? predicate : filter.and(predicate);
+        return this;
+    }
+    
+    public StudentQuery sortBy(SortField field, boolean descending) {
+        this.sortField = field;
+        this.descending = descending;
+        return this;
+    }
+    
+    public String getDepartment() { return department; }
+    
+    public double getMinGpa() { return minGpa; }
+    
+    public double getMaxGpa() { return maxGpa; }
+    
+    public int getMinEnrollmentYear() { return minEnrollmentYear; }
+    
+    public int getMaxEnrollmentYear() { return maxEnrollmentYear; }
+    
+    public SortField getSortField() { return sortField; }
+    
+    public boolean isDescending() { return descending; }
+    
+    public boolean hasGpaRange() {
+        return minGpa != Double.NEGATIVE_INFINITY || maxGpa != Double.POSITIVE_INFINITY;
+    }
+    
+    public boolean hasEnrollmentYearRange() {
+        return minEnrollmentYear != Integer.MIN_VALUE || maxEnrollmentYear != Integer.MAX_VALUE;
+    }
+    
+    public boolean matches(Student student) {
+        return (department == null || department.equals(student.getDepartment()))
+                && student.getGpa() >= minGpa && student.getGpa() <= maxGpa
+                && student.getEnrollmentYear() >= minEnrollmentYear
+                && student.getEnrollmentYear() <= maxEnrollmentYear
+                && (filter == null || filter.test(student));
+    }
+}
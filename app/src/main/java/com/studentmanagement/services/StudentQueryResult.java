@@ -0,0 +1,200 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+// Ordered, filtered view over one of the repository's sorted indexes.
+// Nothing is copied: a single scan counts the matches and remembers every
+// CHECKPOINT_INTERVAL-th one with its position, so fetchPage() resumes from
+// the nearest checkpoint instead of walking from the start. After the
+// repository changes, the students it added and removed are replayed against
+// the count and positions in O(log n) each; the full scan is only redone once
+// the checkpoints have drifted too far apart or the changes were not all
+// logged. Every read of the index holds the repository's read lock,
+// including each page iterator() fetches.
+public class StudentQueryResult implements StudentPageSource, Iterable<Student> {
+    private static final int CHECKPOINT_INTERVAL = 1024;
+    private static final int ITERATOR_PAGE_SIZE = 1024;
+    
+    private final StudentRepository repository;
+    private final NavigableSet<Student> ordered;
+    private final Predicate<Student> filter;
+    private final Comparator<? super Student> order;
+    // A checkpoint is a sort key and the number of matches before it; the key
+    // stays usable after its student is removed
+    private final List<Student> checkpoints = new ArrayList<>();
+    private int[] positions = new int[0];
+    private int size = -1;
+    private long scannedAt;
+    private long replayedSinceScan;
+    
+    StudentQueryResult(StudentRepository repository, NavigableSet<Student> ordered, Predicate<Student> filter) {
+        this.repository = repository;
+        this.ordered = ordered;
+        this.filter = filter;
+        this.order = ordered.comparator();
+    }
+    
+    @Override
+    public int size() {
+        return repository.read(() -> {
+            ensureScanned();
+            return size;
+        });
+    }
+    
+    @Override
+    public List<Student> fetchPage(int offset, int limit) {
+        return repository.read(() -> scanPage(offset, limit));
+    }
+    
+    private synchronized List<Student> scanPage(int offset, int limit) {
+        ensureScanned();
+        List<Student> page = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return page;
+        }
+        
+        // Last checkpoint at or before the offset; rows inserted ahead of the
+        // first one are read from the start
+        int checkpoint = -1;
+        for (int low = 0, high = checkpoints.size() - 1; low <= high; ) {
+            int middle = (low + high) >>> 1;
+            if (positions[middle] <= offset) {
+                checkpoint = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int skip = checkpoint < 0 ? offset : offset - positions[checkpoint];
+        for (Student student : checkpoint < 0 ? ordered : ordered.tailSet(checkpoints.get(checkpoint), true)) {
+            if (!filter.test(student)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            page.add(student);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+    
+    // Up to limit matches that come after the given row in this order (keyset
+    // paging), or from the start when after is null. Unlike offsets, this stays
+    // correct if rows are added or removed between calls.
+    public List<Student> fetchAfter(Student after, int limit) {
+        return repository.read(() -> scanAfter(after, limit));
+    }
+    
+    private List<Student> scanAfter(Student after, int limit) {
+        List<Student> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Student student : after == null ? ordered : ordered.tailSet(after, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (filter.test(student)) {
+                page.add(student);
+            }
+        }
+        return page;
+    }
+    
+    // Streams the matches in order without counting them first. Pages are
+    // fetched by keyset, each under the read lock, so the repository may
+    // change between pages; rows added behind the cursor are not returned.
+    @Override
+    public Iterator<Student> iterator() {
+        return new Iterator<>() {
+            private List<Student> page = List.of();
+            private int position;
+            private boolean exhausted;
+            
+            @Override
+            public boolean hasNext() {
+                if (position < page.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                page = fetchAfter(page.isEmpty() ? null : page.get(page.size() - 1), ITERATOR_PAGE_SIZE);
+                position = 0;
+                exhausted = page.size() < ITERATOR_PAGE_SIZE;
+                return !page.isEmpty();
+            }
+            
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(position++);
+            }
+        };
+    }
+    
+    // Caller holds the read lock; several readers may share one result
+    private synchronized void ensureScanned() {
+        long version = repository.getModificationCount();
+        if (size >= 0 && version == scannedAt) {
+            return;
+        }
+        if (size >= 0 && replayedSinceScan + (version - scannedAt) <= CHECKPOINT_INTERVAL
+                && repository.replayChanges(scannedAt, this::replay)) {
+            replayedSinceScan += version - scannedAt;
+            scannedAt = version;
+            return;
+        }
+        checkpoints.clear();
+        int count = 0;
+        for (Student student : ordered) {
+            if (filter.test(student)) {
+                if (count % CHECKPOINT_INTERVAL == 0) {
+                    checkpoints.add(student);
+                }
+                count++;
+            }
+        }
+        positions = new int[checkpoints.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i * CHECKPOINT_INTERVAL;
+        }
+        size = count;
+        scannedAt = version;
+        replayedSinceScan = 0;
+    }
+    
+    // A match added or removed moves every checkpoint sorted after it by one
+    private void replay(Student student, boolean added) {
+        if (!filter.test(student)) {
+            return;
+        }
+        int after = checkpoints.size();
+        for (int low = 0, high = checkpoints.size() - 1; low <= high; ) {
+            int middle = (low + high) >>> 1;
+            if (order.compare(checkpoints.get(middle), student) > 0) {
+                after = middle;
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int delta = added ? 1 : -1;
+        for (int i = after; i < positions.length; i++) {
+            positions[i] += delta;
+        }
+        size += delta;
+    }
+}
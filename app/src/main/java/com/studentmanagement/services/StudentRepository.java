@@ -0,0 +1,587 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// In-memory roster indexed by student ID, department, enrollment year and
+// a trigram search index, with running dashboard statistics. Sorted indexes
+// for query() are built the first time a sort field is used.
+// Every mutation keeps the indexes in step and is saved through the DataService.
+// Safe to share between the FX thread and API request threads: reads take a
+// shared lock, mutations an exclusive one. Updates and deletes are
+// compare-and-set on Student.getVersion(); changes other app instances save
+// are merged in as they are picked up, and an edit whose write is rejected
+// because another instance saved first is replaced by what that instance
+// saved. Every change is published on the event bus so views can apply it
+// without re-reading the roster.
+public class StudentRepository implements StudentPageSource {
+    private final DataService dataService;
+    private final List<Student> students = new ArrayList<>();
+    private final Map<String, Integer> positionById = new HashMap<>();
+    private final Map<String, Set<Student>> byDepartment = new HashMap<>();
+    private final Map<Integer, Set<Student>> byEnrollmentYear = new HashMap<>();
+    private final StudentSearchIndex searchIndex = new StudentSearchIndex();
+    private final StudentStatistics statistics = new StudentStatistics();
+    private final Map<StudentQuery.SortField, NavigableSet<Student>> sortedIndexes =
+            new EnumMap<>(StudentQuery.SortField.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Consumer<List<StudentMutation>> externalChangeListener = this::applyExternalChanges;
+    private final Consumer<List<StudentMutation>> conflictListener = this::applyStoredChanges;
+    private final StudentEventBus events;
+    private volatile long modificationCount;
+    // The index change made at each of the last CHANGE_LOG_SIZE modification
+    // counts, so query results can catch up instead of rescanning
+    private final Student[] changeLog = new Student[CHANGE_LOG_SIZE];
+    private final boolean[] changeLogAdded = new boolean[CHANGE_LOG_SIZE];
+    private final long epoch = epochs.incrementAndGet();
+    
+    private static final LatencyHistogram loadLatency = Metrics.timer("repository.load");
+    private static final LatencyHistogram searchLatency = Metrics.timer("repository.search");
+    private static final LongAdder conflicts = Metrics.counter("repository.conflicts");
+    private static final AtomicLong epochs = new AtomicLong();
+    private static final int CHANGE_LOG_SIZE = 1024;
+    
+    private static final long SYNC_INTERVAL_MS = Long.getLong("sms.sync.intervalMs", 1000);
+    
+    private static volatile StudentRepository shared;
+    private static long sharedRevision = -1;
+    private static ScheduledExecutorService syncer;
+    
+    private StudentRepository(DataService dataService, StudentEventBus events) {
+        this.dataService = dataService;
+        this.events = events;
+    }
+    
+    // Process-wide roster, loaded on first use. After that only the
+    // "student-sync" thread touches the storage for it: every
+    // sms.sync.intervalMs it merges in other instances' changes and reloads
+    // the roster if it was replaced. So once loaded this never blocks on
+    // the files, and is cheap enough to call from the FX thread.
+    public static StudentRepository getShared() {
+        StudentRepository current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (StudentRepository.class) {
+            if (shared == null) {
+                long revision = DataServices.get().getStudentsRevision();
+                shared = load(DataServices.get(), new StudentEventBus());
+                sharedRevision = revision;
+                Metrics.gauge("repository.students", shared::size);
+                syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "student-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                syncer.scheduleWithFixedDelay(StudentRepository::syncShared,
+                        SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            return shared;
+        }
+    }
+    
+    // Stops the background checks, before the data service is closed
+    public static synchronized void stopSharing() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+            syncer = null;
+        }
+    }
+    
+    // Reading the revision also delivers changes other instances logged. A
+    // reloaded roster keeps the event bus, whose subscribers get a RESET.
+    private static synchronized void syncShared() {
+        try {
+            long revision = DataServices.get().getStudentsRevision();
+            if (revision == sharedRevision || syncer == null) {
+                return;
+            }
+            StudentRepository previous = shared;
+            previous.detach();
+            shared = load(DataServices.get(), previous.events);
+            sharedRevision = revision;
+            Metrics.gauge("repository.students", shared::size);
+            shared.events.publish(StudentChangeEvent.reset());
+        } catch (RuntimeException e) {
+            // Keep checking; a failure here would otherwise end the schedule
+            Metrics.error("storage", e);
+        }
+    }
+    
+    public static StudentRepository load(DataService dataService) {
+        return load(dataService, new StudentEventBus());
+    }
+    
+    private static StudentRepository load(DataService dataService, StudentEventBus events) {
+        long start = System.nanoTime();
+        StudentRepository repository = new StudentRepository(dataService, events);
+        dataService.forEachStudent(repository::insert);
+        loadLatency.record(System.nanoTime() - start);
+        dataService.addExternalChangeListener(repository.externalChangeListener);
+        dataService.addConflictListener(repository.conflictListener);
+        return repository;
+    }
+    
+    // Stops merging in other instances' changes, once this repository is replaced
+    public void detach() {
+        dataService.removeExternalChangeListener(externalChangeListener);
+        dataService.removeConflictListener(conflictListener);
+    }
+    
+    // Repository over students already in memory, e.g. for tools and benchmarks;
+    // mutations are still saved through the configured data service
+    public static StudentRepository of(Iterable<Student> students) {
+        StudentRepository repository = new StudentRepository(DataServices.get(), new StudentEventBus());
+        students.forEach(repository::insert);
+        return repository;
+    }
+    
+    // Queries
+    @Override
+    public int size() {
+        return read(students::size);
+    }
+    
+    @Override
+    public List<Student> fetchPage(int offset, int limit) {
+        return read(() -> {
+            int end = Math.min(students.size(), offset + limit);
+            return offset >= end ? new ArrayList<>() : new ArrayList<>(students.subList(offset, end));
+        });
+    }
+    
+    public Student get(int index) {
+        return read(() -> students.get(index));
+    }
+    
+    // Point-in-time copy for background work such as analytics
+    public List<Student> snapshot() {
+        return read(() -> new ArrayList<>(students));
+    }
+    
+    public Student findById(String studentId) {
+        return read(() -> {
+            Integer position = positionById.get(studentId);
+            return position != null ? students.get(position) : null;
+        });
+    }
+    
+    public boolean containsId(String studentId) {
+        return read(() -> positionById.containsKey(studentId));
+    }
+    
+    public Collection<Student> findByDepartment(String department) {
+        return read(() -> copyOf(byDepartment.get(department)));
+    }
+    
+    public Collection<Student> findByEnrollmentYear(int year) {
+        return read(() -> copyOf(byEnrollmentYear.get(year)));
+    }
+    
+    // Safe to call off the FX thread; the search index has its own lock
+    public List<Student> search(String query) {
+        long start = System.nanoTime();
+        List<Student> results = searchIndex.search(query);
+        searchLatency.record(System.nanoTime() - start);
+        return results;
+    }
+    
+    // Filtered rows in sort order, read straight from a sorted index. A range
+    // filter on the sort field narrows the index to a sub-range first.
+    public StudentQueryResult query(StudentQuery query) {
+        NavigableSet<Student> ordered = narrow(sortedIndex(query.getSortField()), query);
+        return new StudentQueryResult(this, query.isDescending() ? ordered.descendingSet() : ordered,
+                query::matches);
+    }
+    
+    // Runs a read of the indexes under the shared lock
+    <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Bumped by every mutation; lets views tell whether cached results are stale
+    public long getModificationCount() {
+        return modificationCount;
+    }
+    
+    // Caller holds the read lock. Hands every student added to or removed from
+    // the indexes since the given modification count to the visitor, oldest
+    // first; false, visiting nothing, if those changes are no longer all logged.
+    boolean replayChanges(long since, IndexChangeVisitor visitor) {
+        long until = modificationCount;
+        if (until - since > CHANGE_LOG_SIZE) {
+            return false;
+        }
+        for (long count = since; count < until; count++) {
+            int slot = (int) (count % CHANGE_LOG_SIZE);
+            visitor.visit(changeLog[slot], changeLogAdded[slot]);
+        }
+        return true;
+    }
+    
+    interface IndexChangeVisitor {
+        void visit(Student student, boolean added);
+    }
+    
+    // Tells this roster apart from earlier ones loaded in the same process,
+    // whose modification counts also started from zero
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public StudentStatistics getStatistics() {
+        return statistics;
+    }
+    
+    public StudentEventBus getEvents() {
+        return events;
+    }
+    
+    public LatencyHistogram getSearchLatency() {
+        return searchLatency;
+    }
+    
+    public Set<String> getDepartments() {
+        return read(() -> Set.copyOf(byDepartment.keySet()));
+    }
+    
+    public Set<Integer> getEnrollmentYears() {
+        return read(() -> Set.copyOf(byEnrollmentYear.keySet()));
+    }
+    
+    // Mutations
+    public boolean add(Student student) {
+        lock.writeLock().lock();
+        try {
+            if (positionById.containsKey(student.getStudentId())) {
+                return false;
+            }
+            insert(student);
+            dataService.saveStudentChanges(List.of(StudentMutation.put(student, StudentMutation.ABSENT)));
+            events.publish(StudentChangeEvent.added(student));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Adds a batch with a single journal write. Returns the students that were
+    // skipped because their ID is already taken.
+    public List<Student> addAll(List<Student> batch) {
+        List<StudentMutation> changes = new ArrayList<>(batch.size());
+        List<StudentChangeEvent> added = new ArrayList<>(batch.size());
+        List<Student> duplicates = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Student student : batch) {
+                if (positionById.containsKey(student.getStudentId())) {
+                    duplicates.add(student);
+                } else {
+                    insert(student);
+                    changes.add(StudentMutation.put(student, StudentMutation.ABSENT));
+                    added.add(StudentChangeEvent.added(student));
+                }
+            }
+            dataService.saveStudentChanges(changes);
+            events.publish(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return duplicates;
+    }
+    
+    // Replaces the student stored under oldId; the ID itself may change.
+    // updated.getVersion() must be the version the edit was based on; it is
+    // bumped on success. Throws StudentConflictException if the record in
+    // memory has moved on or is gone, and returns false if the new ID is
+    // taken. An edit to a version another instance has already replaced, but
+    // whose change has not been merged in yet, is caught when the write is
+    // compare-and-set, and rolled back through the conflict listener.
+    public boolean update(String oldId, Student updated) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positionById.get(oldId);
+            if (position == null) {
+                conflicts.increment();
+                throw new StudentConflictException(oldId, null);
+            }
+            Student previous = students.get(position);
+            if (previous.getVersion() != updated.getVersion()) {
+                conflicts.increment();
+                throw new StudentConflictException(oldId, previous);
+            }
+            
+            boolean idChanged = !oldId.equals(updated.getStudentId());
+            if (idChanged && positionById.containsKey(updated.getStudentId())) {
+                return false;
+            }
+            
+            updated.setVersion(previous.getVersion() + 1);
+            students.set(position, updated);
+            unindex(previous);
+            if (idChanged) {
+                positionById.remove(oldId);
+            }
+            positionById.put(updated.getStudentId(), position);
+            index(updated);
+            
+            List<StudentMutation> changes = new ArrayList<>(2);
+            if (idChanged) {
+                changes.add(StudentMutation.delete(oldId, previous.getVersion()));
+                changes.add(StudentMutation.put(updated, StudentMutation.ABSENT));
+            } else {
+                changes.add(StudentMutation.put(updated, previous.getVersion()));
+            }
+            dataService.saveStudentChanges(changes);
+            events.publish(StudentChangeEvent.updated(previous, updated));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Deletes whatever version is stored
+    public Student delete(String studentId) {
+        lock.writeLock().lock();
+        try {
+            Student removed = remove(studentId);
+            if (removed != null) {
+                dataService.saveStudentChanges(List.of(StudentMutation.delete(studentId, removed.getVersion())));
+                events.publish(StudentChangeEvent.removed(removed));
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Deletes only if the record is still at expectedVersion; checked in
+    // memory, and again when the delete is written, as for update()
+    public Student delete(String studentId, long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            Student current = findById(studentId);
+            if (current == null || current.getVersion() != expectedVersion) {
+                conflicts.increment();
+                throw new StudentConflictException(studentId, current);
+            }
+            return delete(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Changes another instance saved. A record is only replaced by a version
+    // at least as new; on a tie theirs wins, as it reached the disk first.
+    private void applyExternalChanges(List<StudentMutation> changes) {
+        List<StudentChangeEvent> applied = new ArrayList<>(changes.size());
+        lock.writeLock().lock();
+        try {
+            for (StudentMutation change : changes) {
+                if (change.getOp() == StudentMutation.Type.DELETE) {
+                    Student removed = remove(change.getStudentId());
+                    if (removed != null) {
+                        applied.add(StudentChangeEvent.removed(removed));
+                    }
+                    continue;
+                }
+                Student current = findById(change.getStudentId());
+                if (current == null) {
+                    insert(change.getStudent());
+                    applied.add(StudentChangeEvent.added(change.getStudent()));
+                } else if (current.getVersion() <= change.getVersion()) {
+                    insert(change.getStudent());
+                    applied.add(StudentChangeEvent.updated(current, change.getStudent()));
+                }
+            }
+            events.publish(applied);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // What is stored for students whose queued changes were rejected. It
+    // replaces the rejected edits whatever their versions, and changes queued
+    // on top of them are dropped: they were made against a version that was
+    // never saved. Mutations queue under the write lock, so none made after
+    // this returns is based on a rejected edit.
+    private void applyStoredChanges(List<StudentMutation> stored) {
+        List<String> studentIds = new ArrayList<>(stored.size());
+        List<StudentChangeEvent> applied = new ArrayList<>(stored.size());
+        lock.writeLock().lock();
+        try {
+            for (StudentMutation change : stored) {
+                studentIds.add(change.getStudentId());
+            }
+            dataService.discardStudentChanges(studentIds);
+            for (StudentMutation change : stored) {
+                if (change.getOp() == StudentMutation.Type.DELETE) {
+                    Student removed = remove(change.getStudentId());
+                    if (removed != null) {
+                        applied.add(StudentChangeEvent.removed(removed));
+                    }
+                    continue;
+                }
+                Student current = findById(change.getStudentId());
+                insert(change.getStudent());
+                applied.add(current == null ? StudentChangeEvent.added(change.getStudent())
+                        : StudentChangeEvent.updated(current, change.getStudent()));
+            }
+            events.publish(applied);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private Student remove(String studentId) {
+        Integer position = positionById.remove(studentId);
+        if (position == null) {
+            return null;
+        }
+        
+        // Move the last student into the gap so removal stays O(1)
+        Student removed = students.get(position);
+        Student last = students.remove(students.size() - 1);
+        if (last != removed) {
+            students.set(position, last);
+            positionById.put(last.getStudentId(), position);
+        }
+        unindex(removed);
+        return removed;
+    }
+    
+    private void insert(Student student) {
+        Integer existing = positionById.get(student.getStudentId());
+        if (existing != null) {
+            unindex(students.set(existing, student));
+        } else {
+            positionById.put(student.getStudentId(), students.size());
+            students.add(student);
+        }
+        index(student);
+    }
+    
+    private void index(Student student) {
+        byDepartment.computeIfAbsent(student.getDepartment(), d -> new LinkedHashSet<>()).add(student);
+        byEnrollmentYear.computeIfAbsent(student.getEnrollmentYear(), y -> new LinkedHashSet<>()).add(student);
+        searchIndex.add(student);
+        statistics.add(student);
+        for (NavigableSet<Student> sorted : sortedIndexes.values()) {
+            sorted.add(student);
+        }
+        logChange(student, true);
+    }
+    
+    private void unindex(Student student) {
+        removeFromIndex(byDepartment, student.getDepartment(), student);
+        removeFromIndex(byEnrollmentYear, student.getEnrollmentYear(), student);
+        searchIndex.remove(student.getStudentId());
+        statistics.remove(student);
+        for (NavigableSet<Student> sorted : sortedIndexes.values()) {
+            sorted.remove(student);
+        }
+        logChange(student, false);
+    }
+    
+    private void logChange(Student student, boolean added) {
+        int slot = (int) (modificationCount % CHANGE_LOG_SIZE);
+        changeLog[slot] = student;
+        changeLogAdded[slot] = added;
+        modificationCount++;
+    }
+    
+    private NavigableSet<Student> sortedIndex(StudentQuery.SortField field) {
+        NavigableSet<Student> existing = read(() -> sortedIndexes.get(field));
+        if (existing != null) {
+            return existing;
+        }
+        lock.writeLock().lock();
+        try {
+            return sortedIndexes.computeIfAbsent(field, f -> {
+                NavigableSet<Student> index = new TreeSet<>(f.comparator());
+                index.addAll(students);
+                return index;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Bounds are probe students with a null ID, which sorts before every real
+    // ID, so the lower probe is inclusive and the upper one exclusive
+    private static NavigableSet<Student> narrow(NavigableSet<Student> index, StudentQuery query) {
+        switch (query.getSortField()) {
+            case GPA:
+                if (query.hasGpaRange()) {
+                    double max = query.getMaxGpa();
+                    return index.subSet(probe(s -> s.setGpa(query.getMinGpa())), true,
+                            probe(s -> s.setGpa(Math.nextUp(max))), max == Double.POSITIVE_INFINITY);
+                }
+                break;
+            case ENROLLMENT_YEAR:
+                if (query.hasEnrollmentYearRange()) {
+                    Student from = probe(s -> s.setEnrollmentYear(query.getMinEnrollmentYear()));
+                    int max = query.getMaxEnrollmentYear();
+                    return max == Integer.MAX_VALUE ? index.tailSet(from, true)
+                            : index.subSet(from, true, probe(s -> s.setEnrollmentYear(max + 1)), false);
+                }
+                break;
+            case DEPARTMENT:
+                if (query.getDepartment() != null) {
+                    return index.subSet(probe(s -> s.setDepartment(query.getDepartment())), true,
+                            probe(s -> s.setDepartment(query.getDepartment() + '\0')), false);
+                }
+                break;
+            default:
+                break;
+        }
+        return index;
+    }
+    
+    private static Student probe(Consumer<Student> key) {
+        Student probe = new Student();
+        key.accept(probe);
+        return probe;
+    }
+    
+    private static Collection<Student> copyOf(Set<Student> matches) {
+        return matches != null ? new ArrayList<>(matches) : Collections.emptyList();
+    }
+    
+    private static <K> void removeFromIndex(Map<K, Set<Student>> index, K key, Student student) {
+        Set<Student> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(student);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
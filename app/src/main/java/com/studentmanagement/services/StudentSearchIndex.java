@@ -0,0 +1,261 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trigram inverted index over the searchable student fields.
+// Each student gets an int document ID; every trigram maps to a sorted list of
+// document IDs. Substring queries intersect the lists for the query's trigrams
+// and confirm candidates against a lower-cased copy of the fields built at
+// index time, so queries never allocate per record.
+// Queries may run on any thread; a query whose thread is interrupted stops
+// early with a CancellationException.
+public class StudentSearchIndex {
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private Student[] students = new Student[1024];
+    private String[] haystacks = new String[1024];
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+    private int docCount;
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void add(Student student) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(student.getStudentId());
+            addDocument(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(String studentId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Case-insensitive substring match over ID, names, email and department
+    public List<Student> search(String query) {
+        String needle = query.toLowerCase(Locale.ROOT).trim();
+        if (needle.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            return needle.length() < 3 ? scan(needle) : intersect(needle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void addDocument(Student student) {
+        int doc = freeCount > 0 ? freeDocs[--freeCount] : docCount++;
+        if (doc >= students.length) {
+            students = Arrays.copyOf(students, students.length * 2);
+            haystacks = Arrays.copyOf(haystacks, haystacks.length * 2);
+        }
+        
+        String haystack = buildHaystack(student);
+        students[doc] = student;
+        haystacks[doc] = haystack;
+        docById.put(student.getStudentId(), doc);
+        
+        for (int i = 0; i + 3 <= haystack.length(); i++) {
+            long trigram = trigramAt(haystack, i);
+            if (trigram >= 0) {
+                postings.computeIfAbsent(trigram, t -> new PostingList()).add(doc);
+            }
+        }
+    }
+    
+    private void removeDocument(String studentId) {
+        Integer doc = docById.remove(studentId);
+        if (doc == null) {
+            return;
+        }
+        
+        String haystack = haystacks[doc];
+        for (int i = 0; i + 3 <= haystack.length(); i++) {
+            long trigram = trigramAt(haystack, i);
+            if (trigram < 0) {
+                continue;
+            }
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        
+        students[doc] = null;
+        haystacks[doc] = null;
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+    
+    // Too short for trigrams; scan the prebuilt lower-case fields
+    private List<Student> scan(String needle) {
+        List<Student> results = new ArrayList<>();
+        for (int doc = 0; doc < docCount; doc++) {
+            if (doc % CANCEL_CHECK_INTERVAL == 0) {
+                checkCancelled();
+            }
+            String haystack = haystacks[doc];
+            if (haystack != null && haystack.contains(needle)) {
+                results.add(students[doc]);
+            }
+        }
+        return results;
+    }
+    
+    private List<Student> intersect(String needle) {
+        List<Student> results = new ArrayList<>();
+        int trigramCount = needle.length() - 2;
+        PostingList[] lists = new PostingList[trigramCount];
+        for (int i = 0; i < trigramCount; i++) {
+            PostingList list = postings.get(trigramAt(needle, i));
+            if (list == null) {
+                return results;
+            }
+            lists[i] = list;
+        }
+        // Drive the intersection from the rarest trigram
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        
+        PostingList rarest = lists[0];
+        int[] cursors = new int[lists.length];
+        for (int i = 0; i < rarest.size; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0) {
+                checkCancelled();
+            }
+            int doc = rarest.docs[i];
+            if (containsInAll(lists, cursors, doc) && haystacks[doc].contains(needle)) {
+                results.add(students[doc]);
+            }
+        }
+        return results;
+    }
+    
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search superseded");
+        }
+    }
+    
+    // Candidates arrive in ascending order, so each list is walked forward
+    // once with a galloping search instead of being searched from the start
+    private static boolean containsInAll(PostingList[] lists, int[] cursors, int doc) {
+        for (int i = 1; i < lists.length; i++) {
+            PostingList list = lists[i];
+            int low = cursors[i];
+            int step = 1;
+            int high = low;
+            while (high < list.size && list.docs[high] < doc) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(list.docs, low, Math.min(high + 1, list.size), doc);
+            if (position < 0) {
+                cursors[i] = -position - 1;
+                return false;
+            }
+            cursors[i] = position;
+        }
+        return true;
+    }
+    
+    private static String buildHaystack(Student student) {
+        StringBuilder builder = new StringBuilder();
+        appendField(builder, student.getStudentId());
+        appendField(builder, student.getFirstName());
+        appendField(builder, student.getLastName());
+        appendField(builder, student.getEmail());
+        appendField(builder, student.getDepartment());
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    private static void appendField(StringBuilder builder, String value) {
+        if (builder.length() > 0) {
+            builder.append(FIELD_SEPARATOR);
+        }
+        if (value != null) {
+            builder.append(value);
+        }
+    }
+    
+    // Packs three chars into a long; -1 if the window crosses a field boundary
+    private static long trigramAt(String text, int offset) {
+        char a = text.charAt(offset);
+        char b = text.charAt(offset + 1);
+        char c = text.charAt(offset + 2);
+        if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+            return -1;
+        }
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+    
+    // Sorted, growable array of document IDs
+    private static class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+        
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            if (size == 0 || docs[size - 1] < doc) {
+                docs[size++] = doc;
+                return;
+            }
+            int position = Arrays.binarySearch(docs, 0, size, doc);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            System.arraycopy(docs, position, docs, position + 1, size - position);
+            docs[position] = doc;
+            size++;
+        }
+        
+        boolean remove(int doc) {
+            int position = Arrays.binarySearch(docs, 0, size, doc);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(docs, position + 1, docs, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
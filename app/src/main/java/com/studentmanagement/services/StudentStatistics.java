@@ -0,0 +1,64 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Running dashboard aggregates. StudentRepository feeds every insert and
+// removal through here, so reads never have to scan the roster.
+public class StudentStatistics {
+    private int total;
+    private double gpaSum;
+    private final Map<String, Integer> departmentCounts = new HashMap<>();
+    private final Map<Integer, Integer> enrollmentYearCounts = new HashMap<>();
+    
+    synchronized void add(Student student) {
+        total++;
+        gpaSum += student.getGpa();
+        departmentCounts.merge(student.getDepartment(), 1, Integer::sum);
+        enrollmentYearCounts.merge(student.getEnrollmentYear(), 1, Integer::sum);
+    }
+    
+    synchronized void remove(Student student) {
+        total--;
+        gpaSum -= student.getGpa();
+        decrement(departmentCounts, student.getDepartment());
+        decrement(enrollmentYearCounts, student.getEnrollmentYear());
+        if (total == 0) {
+            // Clear accumulated floating point error once the roster is empty
+            gpaSum = 0;
+        }
+    }
+    
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+    
+    public synchronized int getTotal() {
+        return total;
+    }
+    
+    public synchronized double getAverageGpa() {
+        return total > 0 ? gpaSum / total : 0.0;
+    }
+    
+    public synchronized Map<String, Integer> getDepartmentCounts() {
+        return new HashMap<>(departmentCounts);
+    }
+    
+    public synchronized Map<Integer, Integer> getEnrollmentYearCounts() {
+        return new HashMap<>(enrollmentYearCounts);
+    }
+    
+    // Bounded by the number of distinct enrollment years, not the roster size
+    public synchronized int countEnrolledSince(int year) {
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : enrollmentYearCounts.entrySet()) {
+            if (entry.getKey() >= year) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.studentmanagement.services;
+
+import java.io.IOException;
+import java.util.List;
+
+// Thrown by a write-behind sink for changes the storage will never accept as
+// they are, e.g. a value longer than its column. Retrying fails the same way,
+// so the persister drops the change instead of retrying it.
+public class StudentWriteRejectedException extends IOException {
+    private static final long serialVersionUID = 1L;
+    
+    private final transient List<StudentMutation> stored;
+    
+    // stored is what the storage holds for the rejected students, as for a
+    // conflict; empty when the sink cannot tell which change was at fault
+    public StudentWriteRejectedException(String message, List<StudentMutation> stored, Throwable cause) {
+        super(message, cause);
+        this.stored = List.copyOf(stored);
+    }
+    
+    public List<StudentMutation> getStored() {
+        return stored;
+    }
+}
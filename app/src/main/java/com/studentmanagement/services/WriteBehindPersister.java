@@ -0,0 +1,252 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.utils.LatencyHistogram;
+import com.studentmanagement.utils.Metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Moves journal writes off the caller's thread. Mutations are queued and
+// written by a single background thread after a short delay, so a burst of
+// edits becomes one append; only the latest mutation per student ID is kept,
+// rebased on the earliest version so the sink's compare-and-set still holds.
+// A failed write is kept, retried and reported to the failure listeners;
+// changes the sink rejects as conflicts are not retried. The conflict
+// listeners get the stored state that won, then the failure listeners a
+// StudentConflictException. A batch the sink rejects outright with a
+// StudentWriteRejectedException is written again one change at a time, and
+// only the changes rejected on their own are dropped: the conflict listeners
+// get their stored state and the failure listeners the rejection.
+public class WriteBehindPersister {
+    private static final long DEFAULT_COALESCE_MS = 200;
+    private static final long RETRY_DELAY_MS = 2000;
+    private static final LatencyHistogram writeLatency = Metrics.timer("storage.writeBehind.write");
+    private static final LongAdder mutationsWritten = Metrics.counter("storage.writeBehind.mutations");
+    private static final LongAdder writeFailures = Metrics.counter("storage.writeBehind.failures");
+    private static final LongAdder conflicts = Metrics.counter("storage.writeBehind.conflicts");
+    private static final LongAdder rejections = Metrics.counter("storage.writeBehind.rejected");
+    
+    // Where batches end up, e.g. StudentJournal::append. Returns, for each
+    // mutation that was not written because it conflicts, what is stored for
+    // that student instead. Throws StudentWriteRejectedException for a batch
+    // that can never be written, and any other IOException for one that may
+    // succeed later.
+    public interface Sink {
+        List<StudentMutation> write(List<StudentMutation> batch) throws IOException;
+    }
+    
+    private final Sink sink;
+    private final long coalesceMs;
+    private final Map<String, StudentMutation> pending = new LinkedHashMap<>();
+    private final List<Consumer<Exception>> failureListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<StudentMutation>>> conflictListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "student-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Sequence numbers: everything up to written is on disk
+    private long submitted;
+    private long written;
+    // Only the most recently scheduled drain runs, so retries never fork
+    private long drainToken;
+    private boolean scheduled;
+    
+    public WriteBehindPersister(Sink sink) {
+        this(sink, Long.getLong("sms.persist.coalesceMs", DEFAULT_COALESCE_MS));
+    }
+    
+    public WriteBehindPersister(Sink sink, long coalesceMs) {
+        this.sink = sink;
+        this.coalesceMs = coalesceMs;
+        Metrics.gauge("storage.writeBehind.pending", this::pendingCount);
+    }
+    
+    public synchronized void submit(List<StudentMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        for (StudentMutation mutation : mutations) {
+            // Re-insert so a superseded mutation does not keep its old position
+            StudentMutation superseded = pending.remove(mutation.getStudentId());
+            pending.put(mutation.getStudentId(),
+                    superseded != null ? mutation.rebase(superseded.getBaseVersion()) : mutation);
+        }
+        submitted++;
+        if (!scheduled) {
+            scheduleDrain(coalesceMs);
+        }
+    }
+    
+    // Called on the writer thread with the exception; listeners must hand off
+    // to their own thread, e.g. Platform.runLater
+    public void addFailureListener(Consumer<Exception> listener) {
+        failureListeners.add(listener);
+    }
+    
+    public void removeFailureListener(Consumer<Exception> listener) {
+        failureListeners.remove(listener);
+    }
+    
+    // Called on the writer thread with the stored state of the students whose
+    // changes were rejected, before the failure listeners hear about it
+    public void addConflictListener(Consumer<List<StudentMutation>> listener) {
+        conflictListeners.add(listener);
+    }
+    
+    public void removeConflictListener(Consumer<List<StudentMutation>> listener) {
+        conflictListeners.remove(listener);
+    }
+    
+    // Drops queued mutations that have not been handed to the sink yet
+    public synchronized void discard(Collection<String> studentIds) {
+        pending.keySet().removeAll(studentIds);
+    }
+    
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+    
+    public synchronized boolean hasPendingWrites() {
+        return written < submitted;
+    }
+    
+    // Writes everything submitted so far and waits for it to reach disk.
+    // Returns false if that did not happen within the timeout.
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            long target = submitted;
+            if (written >= target) {
+                return true;
+            }
+            scheduleDrain(0);
+            long remaining;
+            while (written < target && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return written >= target;
+        }
+    }
+    
+    // Caller holds the lock
+    private void scheduleDrain(long delayMs) {
+        long token = ++drainToken;
+        scheduled = true;
+        writer.schedule(() -> drain(token), delayMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void drain(long token) {
+        List<StudentMutation> batch;
+        long sequence;
+        synchronized (this) {
+            if (token != drainToken) {
+                return;
+            }
+            scheduled = false;
+            if (pending.isEmpty()) {
+                // Nothing in flight either, so whatever was submitted has
+                // been written or discarded
+                written = submitted;
+                notifyAll();
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            sequence = submitted;
+        }
+        
+        List<StudentMutation> stored = new ArrayList<>();
+        List<StudentWriteRejectedException> rejected = new ArrayList<>();
+        int conflicted = 0;
+        // Mutations handed to the sink and written, rejected or conflicted
+        int settled = 0;
+        Exception failure = null;
+        long start = System.nanoTime();
+        try {
+            try {
+                stored.addAll(sink.write(batch));
+                conflicted = stored.size();
+            } catch (StudentWriteRejectedException e) {
+                if (batch.size() == 1) {
+                    rejected.add(e);
+                } else {
+                    // Find the changes at fault by writing them one at a time
+                    for (StudentMutation mutation : batch) {
+                        try {
+                            List<StudentMutation> conflict = sink.write(List.of(mutation));
+                            stored.addAll(conflict);
+                            conflicted += conflict.size();
+                        } catch (StudentWriteRejectedException single) {
+                            rejected.add(single);
+                        }
+                        settled++;
+                    }
+                }
+            }
+            settled = batch.size();
+            writeLatency.record(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            writeFailures.increment();
+            synchronized (this) {
+                // Keep what was not written; a newer mutation for the same
+                // student replaces it but must keep the failed one's base version
+                for (StudentMutation mutation : batch.subList(settled, batch.size())) {
+                    StudentMutation newer = pending.get(mutation.getStudentId());
+                    pending.put(mutation.getStudentId(),
+                            newer != null ? newer.rebase(mutation.getBaseVersion()) : mutation);
+                }
+                if (!scheduled) {
+                    scheduleDrain(RETRY_DELAY_MS);
+                }
+            }
+        }
+        for (StudentWriteRejectedException e : rejected) {
+            stored.addAll(e.getStored());
+        }
+        mutationsWritten.add(settled - conflicted - rejected.size());
+        conflicts.add(conflicted);
+        rejections.add(rejected.size());
+        
+        // Before the batch counts as written, so a flush() caller sees the
+        // stored records in place of the rejected ones
+        if (!stored.isEmpty()) {
+            for (Consumer<List<StudentMutation>> listener : conflictListeners) {
+                listener.accept(stored);
+            }
+        }
+        if (failure == null) {
+            synchronized (this) {
+                written = sequence;
+                notifyAll();
+            }
+        }
+        if (conflicted > 0) {
+            notifyFailure(new StudentConflictException(stored.subList(0, conflicted)));
+        }
+        for (StudentWriteRejectedException e : rejected) {
+            notifyFailure(e);
+        }
+        if (failure != null) {
+            notifyFailure(failure);
+        }
+    }
+    
+    private void notifyFailure(Exception e) {
+        for (Consumer<Exception> listener : failureListeners) {
+            listener.accept(e);
+        }
+    }
+}
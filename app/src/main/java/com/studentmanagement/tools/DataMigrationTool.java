@@ -0,0 +1,48 @@
+package com.studentmanagement.tools;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.models.User;
+import com.studentmanagement.services.DataService;
+import com.studentmanagement.services.DataServices;
+
+import java.io.File;
+import java.util.List;
+
+// Copies users and students from one storage backend to another, by default
+// from the JSON files into the H2 database in the same data directory:
+//
+//   java ... com.studentmanagement.tools.DataMigrationTool [dataDir] [from] [to]
+//
+// The target's existing users and students are replaced. Password hashes are
+// copied as they are. Run it while the application is stopped, then start the
+// application with -Dsms.storage=<to>.
+public class DataMigrationTool {
+    public static void main(String[] args) {
+        File dataDirectory = args.length > 0 ? new File(args[0]) : DataServices.getDataDirectory();
+        String from = args.length > 1 ? args[1] : DataServices.JSON;
+        String to = args.length > 2 ? args[2] : DataServices.H2;
+        if (from.equalsIgnoreCase(to)) {
+            System.err.println("Source and target backend are both " + from);
+            System.exit(1);
+        }
+        
+        long start = System.nanoTime();
+        try (DataService source = DataServices.create(from, dataDirectory);
+             DataService target = DataServices.create(to, dataDirectory)) {
+            List<User> users = source.loadUsers();
+            target.saveUsers(users);
+            
+            List<Student> students = source.loadStudents();
+            target.saveStudents(students);
+            
+            int copied = target.loadStudents().size();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("Migrated %d users and %d students from %s to %s in %.1f s%n",
+                    users.size(), copied, from, to, seconds);
+            if (copied != students.size()) {
+                System.err.println("Expected " + students.size() + " students in the target but found " + copied);
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.studentmanagement.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader: comma separated, fields optionally wrapped in
+// double quotes, "" for a literal quote, and quoted fields may span lines.
+public class CsvReader implements Closeable {
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long recordLine;
+    
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+    
+    // Next record's fields, or null at end of input. Blank lines are skipped.
+    public List<String> readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isEmpty());
+        recordLine = lineNumber;
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    // Line on which the last record returned by readRecord() started
+    public long getRecordLine() {
+        return recordLine;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
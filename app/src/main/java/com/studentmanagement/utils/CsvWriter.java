@@ -0,0 +1,53 @@
+package com.studentmanagement.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+// RFC 4180 writer matching CsvReader: fields containing a comma, quote or
+// line break are quoted, with embedded quotes doubled. Null is written as
+// an empty field.
+public class CsvWriter implements Closeable {
+    private final Writer writer;
+    
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+    
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields[i]);
+        }
+        writer.write('\n');
+    }
+    
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    public void flush() throws IOException {
+        writer.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.studentmanagement.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram with log-linear buckets (8 per power of two,
+// so percentiles are within 12.5% of the true value). Safe to record from any thread.
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKET_COUNT = 62 * SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+    }
+    
+    public long count() {
+        return total.sum();
+    }
+    
+    public double meanNanos() {
+        long count = count();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+    
+    // Upper bound of the bucket holding the given percentile (0-100)
+    public long percentileNanos(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(BUCKET_COUNT - 1);
+    }
+    
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        total.reset();
+        sum.reset();
+    }
+    
+    // e.g. "p50=0.41ms p99=2.30ms n=120"
+    public String summary() {
+        return String.format("p50=%.2fms p99=%.2fms n=%d",
+                percentileNanos(50) / 1_000_000.0, percentileNanos(99) / 1_000_000.0, count());
+    }
+    
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - 2) * SUB_BUCKETS + subBucket, BUCKET_COUNT - 1);
+    }
+    
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 2;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - 3);
+        return lower + (1L << (exponent - 3)) - 1;
+    }
+}
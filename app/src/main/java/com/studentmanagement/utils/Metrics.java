@@ -0,0 +1,129 @@
+package com.studentmanagement.utils;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Process-wide registry of named counters, latency timers and gauges.
+// Callers look a metric up once and keep it in a static field, so the hot
+// path is a LongAdder increment or a LatencyHistogram.record(), both
+// lock-free. Everything is readable as a text report (report()) and over
+// JMX as com.studentmanagement:type=Metrics once registerMBean() is called.
+public class Metrics {
+    public static final String OBJECT_NAME = "com.studentmanagement:type=Metrics";
+    
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static final LongAdder errors = counter("errors");
+    private static boolean mbeanRegistered;
+    
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+    
+    public static LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+    
+    // Sampled when read; a later registration under the same name replaces
+    // the earlier one, e.g. when the roster is reloaded
+    public static void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+    
+    // Counts the error under errors and errors.<source>, then logs it with
+    // its stack trace to the com.studentmanagement.<source> logger
+    public static void error(String source, Throwable e) {
+        errors.increment();
+        counter("errors." + source).increment();
+        logger(source).log(Level.SEVERE, e.toString(), e);
+    }
+    
+    // A failure with no exception behind it, e.g. changes left unsaved at exit
+    public static void error(String source, String message) {
+        errors.increment();
+        counter("errors." + source).increment();
+        logger(source).severe(message);
+    }
+    
+    private static Logger logger(String source) {
+        return Logger.getLogger("com.studentmanagement." + source);
+    }
+    
+    static Map<String, LongAdder> counters() {
+        return counters;
+    }
+    
+    static Map<String, LatencyHistogram> timers() {
+        return timers;
+    }
+    
+    // Gauges in name order, sampled now; one that throws reads as -1
+    static Map<String, Long> sampleGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, sample(gauge)));
+        return values;
+    }
+    
+    // Null if there is no such gauge
+    static Long sampleGauge(String name) {
+        LongSupplier gauge = gauges.get(name);
+        return gauge != null ? sample(gauge) : null;
+    }
+    
+    private static long sample(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+    
+    // Zeroes counters and timers; gauges are live values and are left alone
+    public static void reset() {
+        counters.values().forEach(LongAdder::reset);
+        timers.values().forEach(LatencyHistogram::reset);
+    }
+    
+    public static String report() {
+        StringBuilder report = new StringBuilder(2048);
+        report.append("Counters\n");
+        counters.forEach((name, counter) ->
+                report.append(String.format("  %-40s %12d%n", name, counter.sum())));
+        report.append("Gauges\n");
+        sampleGauges().forEach((name, value) ->
+                report.append(String.format("  %-40s %12d%n", name, value)));
+        report.append(String.format("Timers%36s %12s %9s %9s %9s %9s%n", "", "count", "mean ms", "p50 ms", "p95 ms", "p99 ms"));
+        timers.forEach((name, timer) -> report.append(String.format("  %-40s %12d %9.3f %9.3f %9.3f %9.3f%n",
+                name, timer.count(), timer.meanNanos() / 1e6, timer.percentileNanos(50) / 1e6,
+                timer.percentileNanos(95) / 1e6, timer.percentileNanos(99) / 1e6)));
+        return report.toString();
+    }
+    
+    // Safe to call more than once, e.g. from both the desktop and server entry points
+    public static synchronized void registerMBean() {
+        if (mbeanRegistered) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(), name);
+            }
+            mbeanRegistered = true;
+        } catch (JMException e) {
+            error("metrics", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.studentmanagement.utils;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exposes the Metrics registry over JMX. Metrics are registered lazily as
+// code paths first run, so the attribute list is rebuilt on every
+// getMBeanInfo() call. Counters and gauges are Long attributes; each timer
+// contributes <name>.count, .meanMs, .p50Ms, .p95Ms and .p99Ms.
+class MetricsMBean implements DynamicMBean {
+    private static final String[] TIMER_FIELDS = {"count", "meanMs", "p50Ms", "p95Ms", "p99Ms"};
+    
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        LongAdder counter = Metrics.counters().get(attribute);
+        if (counter != null) {
+            return counter.sum();
+        }
+        int dot = attribute.lastIndexOf('.');
+        if (dot > 0) {
+            LatencyHistogram timer = Metrics.timers().get(attribute.substring(0, dot));
+            if (timer != null) {
+                switch (attribute.substring(dot + 1)) {
+                    case "count": return timer.count();
+                    case "meanMs": return timer.meanNanos() / 1e6;
+                    case "p50Ms": return timer.percentileNanos(50) / 1e6;
+                    case "p95Ms": return timer.percentileNanos(95) / 1e6;
+                    case "p99Ms": return timer.percentileNanos(99) / 1e6;
+                    default: break;
+                }
+            }
+        }
+        Long gauge = Metrics.sampleGauge(attribute);
+        if (gauge != null) {
+            return gauge;
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+    
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList values = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                values.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // Left out, as the JMX contract allows
+            }
+        }
+        return values;
+    }
+    
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+    
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+    
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        switch (actionName) {
+            case "report":
+                return Metrics.report();
+            case "reset":
+                Metrics.reset();
+                return null;
+            default:
+                throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+    }
+    
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : Metrics.counters().keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, Long.class.getName(), "Counter", true, false, false));
+        }
+        for (String name : Metrics.timers().keySet()) {
+            for (String field : TIMER_FIELDS) {
+                String type = field.equals("count") ? Long.class.getName() : Double.class.getName();
+                attributes.add(new MBeanAttributeInfo(name + "." + field, type, "Timer", true, false, false));
+            }
+        }
+        for (String name : Metrics.sampleGauges().keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, Long.class.getName(), "Gauge", true, false, false));
+        }
+        MBeanOperationInfo[] operations = {
+            new MBeanOperationInfo("report", "Text report of all metrics", new MBeanParameterInfo[0],
+                    String.class.getName(), MBeanOperationInfo.INFO),
+            new MBeanOperationInfo("reset", "Zero all counters and timers", new MBeanParameterInfo[0],
+                    "void", MBeanOperationInfo.ACTION)
+        };
+        return new MBeanInfo(getClass().getName(), "Student Management System metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, operations, null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.studentmanagement.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Salted PBKDF2-HMAC-SHA256 password hashes, stored as
+//   pbkdf2$<iterations>$<base64 salt>$<base64 hash>
+// The iteration count is the cost factor, set with the system property
+// sms.auth.pbkdf2.iterations. Existing hashes keep the count they were made
+// with; needsRehash() tells callers when to upgrade one.
+public class PasswordHasher {
+    private static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int DEFAULT_ITERATIONS = 120_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom random = new SecureRandom();
+    
+    public static int getIterations() {
+        return Math.max(1, Integer.getInteger("sms.auth.pbkdf2.iterations", DEFAULT_ITERATIONS));
+    }
+    
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        int iterations = getIterations();
+        byte[] hash = pbkdf2(password, salt, iterations, HASH_BITS);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+    
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+    
+    // Compares in constant time; false for anything that is not a valid hash
+    public static boolean verify(String password, String stored) {
+        if (password == null || !isHashed(stored)) {
+            return false;
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (iterations < 1 || expected.length == 0) {
+                return false;
+            }
+            byte[] actual = pbkdf2(password, salt, iterations, expected.length * 8);
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    // True for plaintext and for hashes made with fewer iterations than configured now
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < getIterations();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+    
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.studentmanagement.utils;
+
+import com.studentmanagement.models.Student;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// Validates whole Student records against the same rules as the student form,
+// reporting every violation rather than stopping at the first.
+// The clock is read once when the validator is created, so a validator is
+// meant to cover one batch; create a new one for the next batch.
+public class StudentValidator {
+    
+    public enum Violation {
+        INVALID_ID("Invalid student ID"),
+        INVALID_FIRST_NAME("Invalid first name"),
+        INVALID_LAST_NAME("Invalid last name"),
+        MISSING_DATE_OF_BIRTH("Missing date of birth"),
+        TOO_YOUNG("Student must be at least 16 years old"),
+        INVALID_EMAIL("Invalid email"),
+        INVALID_PHONE("Invalid phone"),
+        MISSING_DEPARTMENT("Missing department"),
+        INVALID_DEPARTMENT("Invalid department"),
+        INVALID_GPA("GPA must be between 0.0 and 4.0"),
+        INVALID_ENROLLMENT_YEAR("Invalid enrollment year");
+        
+        private final String message;
+        
+        Violation(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+    
+    private final LocalDate today;
+    private final int currentYear;
+    
+    public StudentValidator() {
+        this(Clock.systemDefaultZone());
+    }
+    
+    public StudentValidator(Clock clock) {
+        this.today = LocalDate.now(clock);
+        this.currentYear = today.getYear();
+    }
+    
+    // Empty set when the student is valid; that case allocates nothing
+    public Set<Violation> validate(Student student) {
+        EnumSet<Violation> violations = null;
+        if (!ValidationUtils.isValidStudentId(student.getStudentId())) {
+            violations = add(violations, Violation.INVALID_ID);
+        }
+        if (!ValidationUtils.isValidName(student.getFirstName())) {
+            violations = add(violations, Violation.INVALID_FIRST_NAME);
+        }
+        if (!ValidationUtils.isValidName(student.getLastName())) {
+            violations = add(violations, Violation.INVALID_LAST_NAME);
+        }
+        if (student.getDateOfBirth() == null) {
+            violations = add(violations, Violation.MISSING_DATE_OF_BIRTH);
+        } else if (!ValidationUtils.isAtLeast16YearsOld(student.getDateOfBirth(), today)) {
+            violations = add(violations, Violation.TOO_YOUNG);
+        }
+        if (student.getEmail() == null || !ValidationUtils.isValidEmail(student.getEmail())) {
+            violations = add(violations, Violation.INVALID_EMAIL);
+        }
+        if (student.getPhone() == null || !ValidationUtils.isValidPhone(student.getPhone())) {
+            violations = add(violations, Violation.INVALID_PHONE);
+        }
+        if (student.getDepartment() == null || student.getDepartment().isEmpty()) {
+            violations = add(violations, Violation.MISSING_DEPARTMENT);
+        } else if (!ValidationUtils.isValidDepartment(student.getDepartment())) {
+            violations = add(violations, Violation.INVALID_DEPARTMENT);
+        }
+        if (!ValidationUtils.isValidGPA(student.getGpa())) {
+            violations = add(violations, Violation.INVALID_GPA);
+        }
+        if (!ValidationUtils.isValidEnrollmentYear(student.getEnrollmentYear(), currentYear)) {
+            violations = add(violations, Violation.INVALID_ENROLLMENT_YEAR);
+        }
+        return violations != null ? violations : Collections.emptySet();
+    }
+    
+    public boolean isValid(Student student) {
+        return validate(student).isEmpty();
+    }
+    
+    // Validates in parallel across cores; result i belongs to students.get(i)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Set<Violation>> validateAll(List<Student> students) {
+        Set<Violation>[] results = new Set[students.size()];
+        IntStream.range(0, students.size()).parallel()
+                .forEach(i -> results[i] = validate(students.get(i)));
+        return List.of(results);
+    }
+    
+    private static EnumSet<Violation> add(EnumSet<Violation> violations, Violation violation) {
+        if (violations == null) {
+            violations = EnumSet.noneOf(Violation.class);
+        }
+        violations.add(violation);
+        return violations;
+    }
+}
@@ -0,0 +1,58 @@
+package com.studentmanagement.utils;
+
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+public class ValidationUtils {
+    // Longest values the storage columns hold
+    public static final int MAX_ID_LENGTH = 64;
+    public static final int MAX_NAME_LENGTH = 100;
+    public static final int MAX_EMAIL_LENGTH = 254;
+    public static final int MAX_PHONE_LENGTH = 32;
+    public static final int MAX_DEPARTMENT_LENGTH = 100;
+    
+    // Compiled once; Pattern.matches(regex, input) would recompile on every call
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9\\s-]{10,}$");
+    
+    public static boolean isValidEmail(String email) {
+        return email.length() <= MAX_EMAIL_LENGTH && EMAIL_PATTERN.matcher(email).matches();
+    }
+    
+    public static boolean isValidPhone(String phone) {
+        return phone.length() <= MAX_PHONE_LENGTH && PHONE_PATTERN.matcher(phone).matches();
+    }
+    
+    public static boolean isValidGPA(double gpa) {
+        return gpa >= 0.0 && gpa <= 4.0;
+    }
+    
+    public static boolean isValidEnrollmentYear(int year) {
+        return isValidEnrollmentYear(year, LocalDate.now().getYear());
+    }
+    
+    // For callers that read the clock once, e.g. a batch validation
+    public static boolean isValidEnrollmentYear(int year, int currentYear) {
+        return year >= 2000 && year <= currentYear;
+    }
+    
+    public static boolean isAtLeast16YearsOld(LocalDate dateOfBirth) {
+        return isAtLeast16YearsOld(dateOfBirth, LocalDate.now());
+    }
+    
+    public static boolean isAtLeast16YearsOld(LocalDate dateOfBirth, LocalDate today) {
+        return !dateOfBirth.plusYears(16).isAfter(today);
+    }
+    
+    public static boolean isValidStudentId(String id) {
+        return id != null && !id.trim().isEmpty() && id.length() >= 6 && id.length() <= MAX_ID_LENGTH;
+    }
+    
+    public static boolean isValidName(String name) {
+        return name != null && !name.trim().isEmpty() && name.length() >= 2 && name.length() <= MAX_NAME_LENGTH;
+    }
+    
+    public static boolean isValidDepartment(String department) {
+        return department != null && !department.isEmpty() && department.length() <= MAX_DEPARTMENT_LENGTH;
+    }
+}
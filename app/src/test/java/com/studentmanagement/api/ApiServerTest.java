@@ -0,0 +1,146 @@
+package com.studentmanagement.api;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.JsonDataService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs against the shared data service, so the data directory has to be set
+// before anything in this JVM first touches DataServices
+class ApiServerTest {
+    
+    @TempDir
+    static File dataDirectory;
+    
+    private static ApiServer server;
+    private static String token;
+    private final HttpClient client = HttpClient.newHttpClient();
+    
+    @BeforeAll
+    static void startServer() throws Exception {
+        System.setProperty("sms.data.dir", dataDirectory.getPath());
+        server = new ApiServer(0);
+        server.start();
+        HttpResponse<String> login = HttpClient.newHttpClient().send(
+                request("/api/login").POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"admin\",\"password\":\"admin123\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode());
+        token = JsonParser.parseString(login.body()).getAsJsonObject().get("token").getAsString();
+    }
+    
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+    
+    @Test
+    void plusInAnIdIsNotASpace() throws Exception {
+        assertEquals(201, send("POST", "/api/students", studentJson("PLUS+001", 0)).statusCode());
+        
+        HttpResponse<String> found = send("GET", "/api/students/PLUS+001", null);
+        
+        assertEquals(200, found.statusCode());
+        assertEquals("PLUS+001", JsonParser.parseString(found.body()).getAsJsonObject()
+                .get("studentId").getAsString());
+        assertEquals(404, send("GET", "/api/students/PLUS%20001", null).statusCode());
+    }
+    
+    @Test
+    void malformedFieldsAreBadRequests() throws Exception {
+        JsonObject objectDate = JsonParser.parseString(studentJson("BAD0001", 0)).getAsJsonObject();
+        objectDate.add("dateOfBirth", new JsonObject());
+        JsonObject badDate = JsonParser.parseString(studentJson("BAD0002", 0)).getAsJsonObject();
+        badDate.addProperty("dateOfBirth", "2001-13-45");
+        
+        assertEquals(400, send("POST", "/api/students", objectDate.toString()).statusCode());
+        assertEquals(400, send("POST", "/api/students", badDate.toString()).statusCode());
+        assertEquals(400, send("POST", "/api/students", "{\"studentId\":").statusCode());
+        assertEquals(404, send("GET", "/api/students/BAD0002", null).statusCode());
+    }
+    
+    @Test
+    void staleWritesConflict() throws Exception {
+        assertEquals(201, send("POST", "/api/students", studentJson("CAS0001", 0)).statusCode());
+        assertEquals(200, send("PUT", "/api/students/CAS0001", studentJson("CAS0001", 0)).statusCode());
+        
+        HttpResponse<String> stale = send("PUT", "/api/students/CAS0001", studentJson("CAS0001", 0));
+        
+        assertEquals(409, stale.statusCode());
+        assertEquals(1, JsonParser.parseString(stale.body()).getAsJsonObject().get("version").getAsLong());
+        assertEquals(409, send("DELETE", "/api/students/CAS0001?version=0", null).statusCode());
+        assertEquals(428, send("DELETE", "/api/students/CAS0001", null).statusCode());
+        assertEquals(204, send("DELETE", "/api/students/CAS0001?version=1", null).statusCode());
+    }
+    
+    @Test
+    void unchangedRosterIsNotModified() throws Exception {
+        HttpResponse<String> first = send("GET", "/api/students?limit=5", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        
+        HttpResponse<String> again = client.send(authorized("/api/students?limit=5")
+                .header("If-None-Match", etag).GET().build(), HttpResponse.BodyHandlers.ofString());
+        
+        assertEquals(304, again.statusCode());
+        assertEquals(201, send("POST", "/api/students", studentJson("ETAG001", 0)).statusCode());
+        HttpResponse<String> changed = client.send(authorized("/api/students?limit=5")
+                .header("If-None-Match", etag).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changed.statusCode());
+    }
+    
+    @Test
+    void studentsNeedAnAdminSession() throws Exception {
+        HttpResponse<String> login = client.send(request("/api/login").POST(HttpRequest.BodyPublishers.ofString(
+                "{\"username\":\"user\",\"password\":\"user123\"}")).build(), HttpResponse.BodyHandlers.ofString());
+        String userToken = JsonParser.parseString(login.body()).getAsJsonObject().get("token").getAsString();
+        
+        assertEquals(401, client.send(request("/api/students").GET().build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(401, client.send(request("/api/login").POST(HttpRequest.BodyPublishers.ofString(
+                "{\"username\":\"user\",\"password\":\"wrong\"}")).build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(403, client.send(request("/api/students").header("Authorization", "Bearer " + userToken)
+                .GET().build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(200, client.send(request("/api/stats").header("Authorization", "Bearer " + userToken)
+                .GET().build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+    
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        return client.send(authorized(path).method(method, publisher).build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private static HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+    
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+    }
+    
+    private static String studentJson(String studentId, long version) {
+        Student student = new Student(studentId, "Ada", "Lovelace", LocalDate.of(2001, 2, 3),
+                "ada@school.edu", "555-010-0100", "Physics", 3.5, 2021);
+        student.setVersion(version);
+        StringBuilder json = new StringBuilder();
+        JsonDataService.writeStudent(student, json);
+        return json.toString();
+    }
+}
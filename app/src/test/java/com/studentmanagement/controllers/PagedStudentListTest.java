@@ -0,0 +1,164 @@
+package com.studentmanagement.controllers;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentPageSource;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs without the FX toolkit: background and FX work are queued here and
+// run when the test says so
+class PagedStudentListTest {
+    
+    private final List<Runnable> background = new ArrayList<>();
+    private final List<Runnable> fxThread = new ArrayList<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    
+    @Test
+    void refreshUpdatesShownRowsInPlace() {
+        List<Student> rows = students(250);
+        PagedStudentList list = list(rows);
+        list.get(10);
+        List<String> changes = record(list);
+        
+        rows.set(10, student(999));
+        rows.remove(249);
+        list.refresh();
+        
+        // Only the page the table read is updated; nothing is removed and
+        // re-added, so the selection and scroll position survive
+        assertEquals(List.of("removed 249-250", "updated 0-100"), changes);
+        assertEquals("S000999", list.get(10).getStudentId());
+        assertEquals(249, list.size());
+    }
+    
+    @Test
+    void refreshAnnouncesNewRowsAsAdded() {
+        List<Student> rows = students(120);
+        PagedStudentList list = list(rows);
+        List<String> changes = record(list);
+        
+        rows.addAll(students(30));
+        list.refresh();
+        
+        assertEquals(List.of("added 120-150"), changes);
+    }
+    
+    @Test
+    void prefetchReadsTheNextPageOffTheCallingThread() {
+        PagedStudentList list = list(students(250));
+        
+        list.get(60);
+        
+        assertEquals(1, fetches.get());
+        assertEquals(1, background.size());
+        runAll(background);
+        assertEquals(2, fetches.get());
+        runAll(fxThread);
+        list.get(150);
+        assertEquals(2, fetches.get());
+    }
+    
+    @Test
+    void prefetchFinishingAfterARefreshIsDropped() {
+        List<Student> rows = students(250);
+        PagedStudentList list = list(rows);
+        list.get(60);
+        runAll(background);
+        
+        rows.set(150, student(999));
+        list.refresh();
+        runAll(fxThread);
+        
+        assertEquals("S000999", list.get(150).getStudentId());
+    }
+    
+    @Test
+    void replaceSwapsACachedRow() {
+        List<Student> rows = students(20);
+        PagedStudentList list = list(rows);
+        list.get(5);
+        List<String> changes = record(list);
+        Student edited = student(5);
+        edited.setDepartment("Biology");
+        
+        list.replace(rows.get(5), edited);
+        
+        assertEquals(List.of("replaced 5-6"), changes);
+        assertEquals("Biology", list.get(5).getDepartment());
+    }
+    
+    @Test
+    void growOnlyAnnouncesTheNewTail() {
+        List<Student> rows = students(150);
+        PagedStudentList list = list(rows);
+        list.get(149);
+        List<String> changes = record(list);
+        
+        rows.addAll(students(10));
+        list.grow();
+        
+        assertEquals(List.of("added 150-160"), changes);
+        assertEquals("S000005", list.get(155).getStudentId());
+    }
+    
+    private PagedStudentList list(List<Student> rows) {
+        StudentPageSource source = StudentPageSource.of(rows);
+        return new PagedStudentList(new StudentPageSource() {
+            @Override
+            public int size() {
+                return source.size();
+            }
+            
+            @Override
+            public List<Student> fetchPage(int offset, int limit) {
+                fetches.incrementAndGet();
+                return source.fetchPage(offset, limit);
+            }
+        }, background::add, fxThread::add);
+    }
+    
+    private static List<String> record(PagedStudentList list) {
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Student>) change -> {
+            while (change.next()) {
+                if (change.wasUpdated()) {
+                    changes.add("updated " + change.getFrom() + "-" + change.getTo());
+                } else if (change.wasReplaced()) {
+                    changes.add("replaced " + change.getFrom() + "-" + change.getTo());
+                } else if (change.wasAdded()) {
+                    changes.add("added " + change.getFrom() + "-" + change.getTo());
+                } else if (change.wasRemoved()) {
+                    changes.add("removed " + change.getFrom() + "-" + (change.getFrom() + change.getRemovedSize()));
+                }
+            }
+        });
+        return changes;
+    }
+    
+    private static void runAll(List<Runnable> queue) {
+        List<Runnable> tasks = new ArrayList<>(queue);
+        queue.clear();
+        tasks.forEach(Runnable::run);
+    }
+    
+    private static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+    
+    private static Student student(int number) {
+        String id = String.format("S%06d", number);
+        return new Student(id, "First", "Last", LocalDate.of(2001, 2, 3), id.toLowerCase() + "@school.edu",
+                "555-010-0100", "Physics", 3.0, 2020);
+    }
+}
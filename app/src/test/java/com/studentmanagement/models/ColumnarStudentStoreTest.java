@@ -0,0 +1,65 @@
+package com.studentmanagement.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColumnarStudentStoreTest {
+    
+    @Test
+    void viewsReadTheColumnsAndCopiesKeepTheVersion() {
+        Student ada = student("S1", "Ada", "Physics", 3.5);
+        ada.setVersion(4);
+        ColumnarStudentStore store = ColumnarStudentStore.of(List.of(ada, student("S2", "Ada", "Robotics", 2.5)));
+        
+        ColumnarStudentStore.StudentView view = store.view(0);
+        assertEquals("S1", view.getStudentId());
+        assertEquals(LocalDate.of(2001, 2, 3), view.getDateOfBirth());
+        assertEquals("Physics", view.getDepartment());
+        assertEquals(4, view.getVersion());
+        // Repeated names are stored once; unknown departments get a new code
+        assertSame(view.getFirstName(), store.view(1).getFirstName());
+        assertEquals("Robotics", store.view(1).getDepartment());
+        assertEquals(Student.DEPARTMENTS.size() + 1, store.departmentCount());
+        
+        Student copy = view.toStudent();
+        assertEquals(4, copy.getVersion());
+        assertEquals(3.5, copy.getGpa(), 1e-9);
+        
+        // A view shows whatever its row holds now
+        store.set(0, student("S3", "Grace", "Mathematics", 4.0));
+        assertEquals("Grace", view.getFirstName());
+        assertEquals(0, view.getVersion());
+    }
+    
+    @Test
+    void removeMovesTheLastRowIntoTheGap() {
+        ColumnarStudentStore store = ColumnarStudentStore.of(List.of(student("S1", "A", "Physics", 3.0),
+                student("S2", "B", "Biology", 2.0), student("S3", "C", "Business", 1.0)));
+        
+        assertEquals(2, store.remove(0));
+        assertEquals(-1, store.remove(1));
+        
+        assertEquals(1, store.size());
+        assertEquals("S3", store.view(0).getStudentId());
+        assertEquals(1.0, store.gpaAt(0), 1e-9);
+    }
+    
+    @Test
+    void missingDateOfBirthStaysMissing() {
+        Student student = student("S1", "A", "Physics", 3.0);
+        student.setDateOfBirth(null);
+        
+        assertNull(ColumnarStudentStore.of(List.of(student)).toStudent(0).getDateOfBirth());
+    }
+    
+    private static Student student(String studentId, String firstName, String department, double gpa) {
+        return new Student(studentId, firstName, "Lovelace", LocalDate.of(2001, 2, 3),
+                studentId.toLowerCase() + "@school.edu", "555-010-0100", department, gpa, 2021);
+    }
+}
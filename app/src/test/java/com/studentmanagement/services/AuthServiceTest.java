@@ -0,0 +1,76 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.utils.PasswordHasher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against the shared data service, so the data directory has to be set
+// before anything in this JVM first touches DataServices
+class AuthServiceTest {
+    
+    @TempDir
+    static File dataDirectory;
+    
+    private static File usersFile;
+    
+    // alice is stored in plaintext, as older files were; bob has a hash made
+    // with fewer iterations than are configured now
+    @BeforeAll
+    static void writeUsers() throws IOException {
+        System.setProperty("sms.data.dir", dataDirectory.getPath());
+        System.setProperty("sms.auth.pbkdf2.iterations", "1000");
+        String weakHash = PasswordHasher.hash("secret2");
+        System.setProperty("sms.auth.pbkdf2.iterations", "2000");
+        usersFile = new File(dataDirectory, "users.json");
+        Files.writeString(usersFile.toPath(), "["
+                + "{\"username\":\"alice\",\"password\":\"secret1\",\"role\":\"admin\"},"
+                + "{\"username\":\"bob\",\"password\":\"" + weakHash + "\",\"role\":\"user\"}]",
+                StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    void plaintextPasswordsAreHashedWhenFirstLoaded() throws IOException {
+        String alice = AuthService.findUser("alice").getPassword();
+        
+        assertTrue(alice.startsWith("pbkdf2$2000$"));
+        assertFalse(Files.readString(usersFile.toPath()).contains("secret1"));
+        assertNotNull(AuthService.authenticate("alice", "secret1"));
+        assertNull(AuthService.authenticate("alice", "secret2"));
+        assertNull(AuthService.authenticate("nobody", "secret1"));
+    }
+    
+    @Test
+    void weakHashesAreUpgradedOnLogin() throws IOException {
+        assertTrue(PasswordHasher.needsRehash(AuthService.findUser("bob").getPassword()));
+        
+        assertNotNull(AuthService.authenticate("bob", "secret2"));
+        
+        String upgraded = AuthService.findUser("bob").getPassword();
+        assertTrue(upgraded.startsWith("pbkdf2$2000$"));
+        assertTrue(Files.readString(usersFile.toPath()).contains(upgraded));
+        assertNotNull(AuthService.findUser("alice"));
+        assertNotNull(AuthService.authenticate("bob", "secret2"));
+    }
+    
+    @Test
+    void sessionsLastUntilLogout() {
+        Session session = AuthService.authenticate("alice", "secret1");
+        
+        assertEquals("alice", AuthService.getSession(session.getToken()).getUsername());
+        assertTrue(session.isAdmin());
+        AuthService.logout(session.getToken());
+        assertNull(AuthService.getSession(session.getToken()));
+    }
+}
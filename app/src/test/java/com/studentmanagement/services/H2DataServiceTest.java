@@ -0,0 +1,119 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.models.User;
+import com.studentmanagement.utils.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class H2DataServiceTest {
+    
+    private static final AtomicInteger databases = new AtomicInteger();
+    
+    private H2DataService dataService;
+    
+    @BeforeEach
+    void setUp() {
+        dataService = new H2DataService("jdbc:h2:mem:students" + databases.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        dataService.close();
+    }
+    
+    @Test
+    void rejectsAValueTooLongForItsColumnWithoutRetrying() throws InterruptedException {
+        List<List<StudentMutation>> conflicts = Collections.synchronizedList(new ArrayList<>());
+        BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+        dataService.addConflictListener(conflicts::add);
+        dataService.addPersistenceFailureListener(failures::add);
+        Student tooLong = student("S000001", "Physics", 3.0, 2020);
+        tooLong.setFirstName("x".repeat(101));
+        
+        dataService.saveStudentChanges(List.of(StudentMutation.put(tooLong, StudentMutation.ABSENT),
+                StudentMutation.put(student("S000002", "Biology", 2.5, 2021), StudentMutation.ABSENT)));
+        assertTrue(dataService.flushStudentChanges());
+        
+        assertEquals(List.of("S000002"), ids(load()));
+        assertInstanceOf(StudentWriteRejectedException.class, failures.poll(5, TimeUnit.SECONDS));
+        assertEquals(StudentMutation.Type.DELETE, conflicts.get(0).get(0).getOp());
+        
+        dataService.saveStudentChanges(List.of(
+                StudentMutation.put(student("S000003", "Business", 3.5, 2022), StudentMutation.ABSENT)));
+        assertTrue(dataService.flushStudentChanges());
+        assertEquals(List.of("S000002", "S000003"), ids(load()));
+        assertTrue(failures.isEmpty());
+    }
+    
+    @Test
+    void writesBasedOnAStaleVersionConflict() throws InterruptedException {
+        List<List<StudentMutation>> conflicts = Collections.synchronizedList(new ArrayList<>());
+        BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+        dataService.addConflictListener(conflicts::add);
+        dataService.addPersistenceFailureListener(failures::add);
+        Student original = student("S000001", "Physics", 3.0, 2020);
+        dataService.saveStudentChanges(List.of(StudentMutation.put(original, StudentMutation.ABSENT)));
+        assertTrue(dataService.flushStudentChanges());
+        
+        Student first = StudentFixtures.edited(original, "Biology", 3.1);
+        first.setVersion(1);
+        Student second = StudentFixtures.edited(original, "Business", 3.2);
+        second.setVersion(1);
+        dataService.saveStudentChanges(List.of(StudentMutation.put(first, 0)));
+        assertTrue(dataService.flushStudentChanges());
+        dataService.saveStudentChanges(List.of(StudentMutation.put(second, 0)));
+        dataService.saveStudentChanges(List.of(StudentMutation.delete("S000001", 0)));
+        assertTrue(dataService.flushStudentChanges());
+        
+        assertInstanceOf(StudentConflictException.class, failures.poll(5, TimeUnit.SECONDS));
+        StudentMutation stored = conflicts.get(0).get(0);
+        assertEquals("Biology", stored.getStudent().getDepartment());
+        assertEquals(1, stored.getVersion());
+        Student kept = load().get(0);
+        assertEquals("Biology", kept.getDepartment());
+        assertEquals(1, kept.getVersion());
+    }
+    
+    @Test
+    void emptyDatabaseGetsHashedDefaultUsers() {
+        List<User> users = dataService.loadUsers();
+        
+        assertEquals(List.of("admin", "user"), users.stream().map(User::getUsername).toList());
+        assertTrue(PasswordHasher.verify("admin123", users.get(0).getPassword()));
+        long revision = dataService.getUsersRevision();
+        
+        dataService.saveUsers(List.of(new User("admin", PasswordHasher.hash("changed"), "admin")));
+        
+        assertTrue(dataService.getUsersRevision() > revision);
+        assertEquals(1, dataService.loadUsers().size());
+    }
+    
+    private List<Student> load() {
+        List<Student> students = new ArrayList<>();
+        dataService.forEachStudent(students::add);
+        return students;
+    }
+    
+    private static List<String> ids(List<Student> students) {
+        List<String> ids = new ArrayList<>();
+        for (Student student : students) {
+            ids.add(student.getStudentId());
+        }
+        return ids;
+    }
+}
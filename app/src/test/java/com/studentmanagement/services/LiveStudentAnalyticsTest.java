@@ -0,0 +1,181 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.ColumnarStudentStore;
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.studentmanagement.services.StudentFixtures.edited;
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveStudentAnalyticsTest {
+    
+    @TempDir
+    File dataDirectory;
+    
+    private JsonDataService dataService;
+    private StudentRepository repository;
+    private LiveStudentAnalytics analytics;
+    private final BlockingQueue<LiveStudentAnalytics.Update> updates = new LinkedBlockingQueue<>();
+    
+    @BeforeEach
+    void setUp() {
+        dataService = new JsonDataService(dataDirectory);
+        repository = StudentRepository.load(dataService);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (analytics != null) {
+            analytics.stop();
+        }
+        repository.detach();
+        dataService.close();
+    }
+    
+    @Test
+    void startsWithFullReport() throws InterruptedException {
+        repository.addAll(List.of(student("S1", "Physics", 3.0, 2020), student("S2", "Physics", 2.0, 2021)));
+        
+        analytics = LiveStudentAnalytics.start(() -> repository, updates::add, Runnable::run);
+        LiveStudentAnalytics.Update update = next();
+        
+        assertTrue(update.isFull());
+        assertEquals(2, update.getOverall().getCount());
+        assertEquals(2.5, update.getDepartments().get("Physics").getMean(), 1e-9);
+        assertEquals(Map.of("Physics", 1L), update.getCohorts().get(2021));
+    }
+    
+    @Test
+    void deltasOnlyCarryWhatChanged() throws InterruptedException {
+        repository.addAll(List.of(student("S1", "Physics", 3.0, 2020), student("S2", "Biology", 2.0, 2021)));
+        analytics = LiveStudentAnalytics.start(() -> repository, updates::add, Runnable::run);
+        next();
+        
+        repository.update("S1", edited(repository.findById("S1"), "Chemistry", 3.5));
+        LiveStudentAnalytics.Update update = next();
+        
+        assertFalse(update.isFull());
+        assertEquals(2, update.getOverall().getCount());
+        assertTrue(update.getDepartments().containsKey("Physics"));
+        assertNull(update.getDepartments().get("Physics"));
+        assertEquals(3.5, update.getDepartments().get("Chemistry").getMean(), 1e-9);
+        assertFalse(update.getDepartments().containsKey("Biology"));
+        assertEquals(Map.of("Physics", 0L, "Chemistry", 1L), update.getCohorts().get(2020));
+    }
+    
+    @Test
+    void appliedDeltasMatchFullAnalysis() throws InterruptedException {
+        Random random = new Random(42);
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            roster.add(student("S" + i, pick(random), random.nextInt(401) / 100.0, 2000 + random.nextInt(25)));
+        }
+        repository.addAll(roster);
+        analytics = LiveStudentAnalytics.start(() -> repository, updates::add, Runnable::run);
+        
+        for (int i = 0; i < 1500; i++) {
+            Student current = repository.get(random.nextInt(repository.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> repository.delete(current.getStudentId());
+                case 1 -> repository.update(current.getStudentId(),
+                        edited(current, pick(random), random.nextInt(401) / 100.0));
+                default -> repository.add(student("N" + i, pick(random), random.nextInt(401) / 100.0, 2030));
+            }
+        }
+        
+        Map<String, GpaSummary> departments = new HashMap<>();
+        Map<Integer, Map<String, Long>> cohorts = new HashMap<>();
+        GpaSummary overall = null;
+        LiveStudentAnalytics.Update update;
+        // Every change is published by now; the worker goes quiet once it has applied them
+        while ((update = updates.poll(1, TimeUnit.SECONDS)) != null) {
+            if (update.isFull()) {
+                departments.clear();
+                cohorts.clear();
+            }
+            overall = update.getOverall();
+            update.getDepartments().forEach((dept, summary) -> {
+                if (summary == null) {
+                    departments.remove(dept);
+                } else {
+                    departments.put(dept, summary);
+                }
+            });
+            update.getCohorts().forEach((year, counts) -> counts.forEach((dept, count) -> {
+                Map<String, Long> byDepartment = cohorts.computeIfAbsent(year, y -> new HashMap<>());
+                if (count == 0) {
+                    byDepartment.remove(dept);
+                } else {
+                    byDepartment.put(dept, count);
+                }
+                if (byDepartment.isEmpty()) {
+                    cohorts.remove(year);
+                }
+            }));
+        }
+        
+        StudentAnalytics.Report expected = StudentAnalytics.analyze(repository.snapshot());
+        assertNotNull(overall);
+        assertEquals(expected.getOverall().getCount(), overall.getCount());
+        assertEquals(expected.getOverall().getMean(), overall.getMean(), 1e-9);
+        assertEquals(expected.getOverall().getMedian(), overall.getMedian());
+        assertEquals(expected.getByDepartment().keySet(), departments.keySet());
+        expected.getByDepartment().forEach((dept, summary) -> {
+            assertEquals(summary.getCount(), departments.get(dept).getCount());
+            assertEquals(summary.getStandardDeviation(), departments.get(dept).getStandardDeviation(), 1e-6);
+            assertEquals(summary.getPercentile(90), departments.get(dept).getPercentile(90));
+        });
+        assertEquals(expected.getYearByDepartment(), cohorts);
+    }
+    
+    @Test
+    void columnarAnalysisMatchesObjectAnalysis() {
+        Random random = new Random(7);
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            roster.add(student("S" + i, i == 0 ? null : pick(random), random.nextInt(401) / 100.0,
+                    2000 + random.nextInt(25)));
+        }
+        
+        StudentAnalytics.Report expected = StudentAnalytics.analyze(roster);
+        StudentAnalytics.Report columnar = StudentAnalytics.analyze(ColumnarStudentStore.of(roster));
+        
+        assertEquals(expected.getOverall().getCount(), columnar.getOverall().getCount());
+        assertEquals(expected.getOverall().getMean(), columnar.getOverall().getMean(), 1e-9);
+        assertEquals(expected.getOverall().getPercentile(90), columnar.getOverall().getPercentile(90));
+        assertEquals(expected.getByDepartment().keySet(), columnar.getByDepartment().keySet());
+        expected.getByDepartment().forEach((dept, summary) -> {
+            assertEquals(summary.getCount(), columnar.getByDepartment().get(dept).getCount());
+            assertEquals(summary.getMedian(), columnar.getByDepartment().get(dept).getMedian());
+        });
+        assertEquals(expected.getYearByDepartment(), columnar.getYearByDepartment());
+    }
+    
+    private LiveStudentAnalytics.Update next() throws InterruptedException {
+        LiveStudentAnalytics.Update update = updates.poll(10, TimeUnit.SECONDS);
+        assertNotNull(update, "no analytics update");
+        return update;
+    }
+    
+    private static String pick(Random random) {
+        return Student.DEPARTMENTS.get(random.nextInt(Student.DEPARTMENTS.size()));
+    }
+}
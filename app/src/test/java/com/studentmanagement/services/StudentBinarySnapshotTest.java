@@ -0,0 +1,173 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StudentBinarySnapshotTest {
+    
+    @TempDir
+    File directory;
+    
+    @Test
+    void roundTripsEveryField() throws IOException {
+        Student full = student("S1", "Computer Science", 3.75, 2021);
+        full.setFirstName("Zoë");
+        full.setVersion(7);
+        Student sparse = new Student("S2", null, null, null, null, null, null, 0.0, 0);
+        File file = new File(directory, "students.bin");
+        
+        write(file, List.of(full, sparse));
+        List<Student> read = read(file);
+        
+        assertEquals(2, read.size());
+        Student first = read.get(0);
+        assertEquals("S1", first.getStudentId());
+        assertEquals("Zoë", first.getFirstName());
+        assertEquals(full.getLastName(), first.getLastName());
+        assertEquals(full.getDateOfBirth(), first.getDateOfBirth());
+        assertEquals(full.getEmail(), first.getEmail());
+        assertEquals(full.getPhone(), first.getPhone());
+        assertEquals("Computer Science", first.getDepartment());
+        assertEquals(3.75, first.getGpa());
+        assertEquals(2021, first.getEnrollmentYear());
+        assertEquals(7, first.getVersion());
+        
+        Student second = read.get(1);
+        assertNull(second.getFirstName());
+        assertNull(second.getDateOfBirth());
+        assertNull(second.getDepartment());
+    }
+    
+    @Test
+    void sharesOneDictionaryEntryPerDepartment() throws IOException {
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            roster.add(student("S" + i, Student.DEPARTMENTS.get(i % Student.DEPARTMENTS.size()), (i % 400) / 100.0, 2000 + i % 25));
+        }
+        File file = new File(directory, "students.bin");
+        
+        write(file, roster);
+        List<Student> read = read(file);
+        
+        assertEquals(roster.size(), read.size());
+        for (int i = 0; i < roster.size(); i++) {
+            assertEquals(roster.get(i).getStudentId(), read.get(i).getStudentId());
+            assertEquals(roster.get(i).getDepartment(), read.get(i).getDepartment());
+            assertEquals(roster.get(i).getGpa(), read.get(i).getGpa());
+        }
+    }
+    
+    @Test
+    void convertsToJsonAndBack() throws IOException {
+        File binary = new File(directory, "students.bin");
+        File json = new File(directory, "students.json");
+        File again = new File(directory, "again.bin");
+        write(binary, List.of(student("S1", "Physics", 3.2, 2020), student("S2", "Biology", 2.9, 2022)));
+        
+        StudentBinarySnapshot.convertBinaryToJson(binary, json);
+        StudentBinarySnapshot.convertJsonToBinary(json, again);
+        
+        List<Student> read = read(again);
+        assertEquals(2, read.size());
+        assertEquals("Biology", read.get(1).getDepartment());
+        assertEquals(2.9, read.get(1).getGpa());
+    }
+    
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        File file = new File(directory, "students.json");
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.write("[{\"studentId\":\"S1\"}]      ".getBytes());
+        }
+        
+        assertThrows(IOException.class, () -> StudentBinarySnapshot.openReader(file));
+    }
+    
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        File file = new File(directory, "students.bin");
+        write(file, List.of(student("S1", "Physics", 3.2, 2020), student("S2", "Biology", 2.9, 2022)));
+        long length = file.length();
+        
+        for (long truncated : new long[] {length - 1, length - 20, 30, 19, 0}) {
+            try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+                out.setLength(truncated);
+            }
+            assertThrows(IOException.class, () -> StudentBinarySnapshot.openReader(file), "length " + truncated);
+        }
+    }
+    
+    @Test
+    void reportsCorruptRecordsAsIoFailures() throws IOException {
+        File file = new File(directory, "students.bin");
+        write(file, List.of(student("S1", "Physics", 3.2, 2020), student("S2", "Biology", 2.9, 2022)));
+        // The second record's ID length, after the 20-byte header and the 81-byte first record
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(20 + 81);
+            out.writeInt(Integer.MAX_VALUE - 8);
+        }
+        
+        try (StudentBinarySnapshot.Reader reader = StudentBinarySnapshot.openReader(file)) {
+            assertEquals("S1", reader.next().getStudentId());
+            UncheckedIOException failure = assertThrows(UncheckedIOException.class, reader::next);
+            assertInstanceOf(IOException.class, failure.getCause());
+        }
+    }
+    
+    @Test
+    void rejectsOutOfRangeHeaderAndDepartmentCodes() throws IOException {
+        File file = new File(directory, "students.bin");
+        write(file, List.of(student("S1", "Physics", 3.2, 2020)));
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            // Department code, after the header and the variable-length fields
+            out.seek(20 + 6 + 11 + 10 + 4 + 17 + 12);
+            out.writeByte(7);
+        }
+        try (StudentBinarySnapshot.Reader reader = StudentBinarySnapshot.openReader(file)) {
+            assertThrows(UncheckedIOException.class, reader::next);
+        }
+        
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(8);
+            out.writeInt(1000);
+        }
+        assertThrows(IOException.class, () -> StudentBinarySnapshot.openReader(file));
+        
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(8);
+            out.writeInt(1);
+            out.writeLong(file.length() + 100);
+        }
+        assertThrows(IOException.class, () -> StudentBinarySnapshot.openReader(file));
+    }
+    
+    private static void write(File file, List<Student> students) throws IOException {
+        try (StudentBinarySnapshot.Writer writer = StudentBinarySnapshot.openWriter(file)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+        }
+    }
+    
+    private static List<Student> read(File file) throws IOException {
+        List<Student> students = new ArrayList<>();
+        try (StudentBinarySnapshot.Reader reader = StudentBinarySnapshot.openReader(file)) {
+            reader.forEachRemaining(students::add);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,26 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+
+import java.time.LocalDate;
+
+// Small hand-built students for the storage and index tests
+final class StudentFixtures {
+    
+    private StudentFixtures() {
+    }
+    
+    static Student student(String studentId, String department, double gpa, int enrollmentYear) {
+        return new Student(studentId, "First" + studentId, "Last" + studentId, LocalDate.of(2001, 2, 3),
+                studentId.toLowerCase() + "@school.edu", "555-0100", department, gpa, enrollmentYear);
+    }
+    
+    // Copy to edit, carrying the version the edit is based on
+    static Student edited(Student original, String department, double gpa) {
+        Student copy = new Student(original.getStudentId(), original.getFirstName(), original.getLastName(),
+                original.getDateOfBirth(), original.getEmail(), original.getPhone(), department, gpa,
+                original.getEnrollmentYear());
+        copy.setVersion(original.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,70 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentImportServiceTest {
+    
+    private static final String VALID = "{\"studentId\":\"S00001\",\"firstName\":\"Ada\",\"lastName\":\"Lovelace\","
+            + "\"dateOfBirth\":\"2000-01-01\",\"email\":\"ada@school.edu\",\"phone\":\"555-010-0100\","
+            + "\"department\":\"Mathematics\",\"gpa\":3.9,\"enrollmentYear\":2020}";
+    
+    @TempDir
+    File directory;
+    
+    @Test
+    void badJsonLinesAreRejectedNotFatal() throws IOException {
+        File source = new File(directory, "students.jsonl");
+        Files.write(source.toPath(), List.of(
+                VALID,
+                VALID.replace("S00001", "S00002").replace("\"2000-01-01\"", "{\"year\":2000}"),
+                VALID.replace("S00001", "S00003").replace("\"2000-01-01\"", "20000101"),
+                VALID.replace("S00001", "S00004").replace("\"2000-01-01\"", "\"01/01/2000\""),
+                "{not json",
+                VALID.replace("S00001", "S00005")), StandardCharsets.UTF_8);
+        File report = new File(directory, "rejected.csv");
+        List<Student> committed = new ArrayList<>();
+        
+        StudentImportService.ImportResult result = StudentImportService.importStudents(source, report, batch -> {
+            committed.addAll(batch);
+            return List.of();
+        }, null);
+        
+        assertEquals(6, result.getRowsRead());
+        assertEquals(2, result.getAccepted());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of("S00001", "S00005"), committed.stream().map(Student::getStudentId).toList());
+        List<String> reportLines = Files.readAllLines(report.toPath(), StandardCharsets.UTF_8);
+        assertTrue(reportLines.stream().anyMatch(line -> line.startsWith("2,")), String.join("\n", reportLines));
+        assertTrue(reportLines.stream().anyMatch(line -> line.startsWith("3,")), String.join("\n", reportLines));
+    }
+    
+    @Test
+    void csvRowsWithBadValuesAreRejected() throws IOException {
+        File source = new File(directory, "students.csv");
+        Files.write(source.toPath(), List.of(
+                "studentId,firstName,lastName,dateOfBirth,email,phone,department,gpa,enrollmentYear",
+                "S00001,Ada,Lovelace,2000-01-01,ada@school.edu,555-010-0100,Mathematics,3.9,2020",
+                "S00002,Alan,Turing,not-a-date,alan@school.edu,555-010-0101,Physics,3.1,2020",
+                "S00003,Grace,Hopper,2000-01-01,grace@school.edu,555-010-0102,Physics,four,2020",
+                "S00004,Short,Row"), StandardCharsets.UTF_8);
+        
+        StudentImportService.ImportResult result = StudentImportService.importStudents(source,
+                new File(directory, "rejected.csv"), batch -> List.of(), null);
+        
+        assertEquals(4, result.getRowsRead());
+        assertEquals(1, result.getAccepted());
+        assertEquals(3, result.getRejected());
+    }
+}
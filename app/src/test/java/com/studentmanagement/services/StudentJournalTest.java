@@ -0,0 +1,178 @@
+package com.studentmanagement.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.studentmanagement.services.StudentFixtures.edited;
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentJournalTest {
+    
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new JsonDataService.LocalDateAdapter())
+            .create();
+    
+    @TempDir
+    File dataDirectory;
+    
+    private final List<StudentJournal> journals = new ArrayList<>();
+    
+    @BeforeEach
+    void writeInitialSnapshot() throws IOException {
+        open().writeSnapshot(List.of(versioned(student("S1", "Physics", 3.0, 2020), 0),
+                versioned(student("S2", "Biology", 2.0, 2021), 0)).iterator());
+    }
+    
+    @AfterEach
+    void closeJournals() throws IOException {
+        for (StudentJournal journal : journals) {
+            journal.close();
+        }
+    }
+    
+    @Test
+    void replaysLogOverSnapshot() throws IOException {
+        StudentJournal journal = open();
+        load(journal);
+        Student updated = versioned(edited(load(journal).get("S1"), "Chemistry", 3.5), 1);
+        
+        List<StudentMutation> stored = journal.append(List.of(
+                StudentMutation.put(updated, 0),
+                StudentMutation.delete("S2", 0),
+                StudentMutation.put(student("S3", "Business", 3.1, 2022), StudentMutation.ABSENT)));
+        
+        assertTrue(stored.isEmpty());
+        Map<String, Student> roster = load(open());
+        assertEquals(List.of("S1", "S3"), List.copyOf(roster.keySet()));
+        assertEquals("Chemistry", roster.get("S1").getDepartment());
+        assertEquals(1, roster.get("S1").getVersion());
+    }
+    
+    @Test
+    void rejectsChangeBasedOnVersionAnotherInstanceReplaced() throws IOException {
+        StudentJournal mine = open();
+        StudentJournal theirs = open();
+        Map<String, Student> roster = load(mine);
+        Student original = roster.get("S1");
+        load(theirs);
+        List<List<StudentMutation>> external = new ArrayList<>();
+        mine.setExternalChangeListener(external::add);
+        
+        Student saved = versioned(edited(original, "Mathematics", 3.9), 1);
+        assertTrue(theirs.append(List.of(StudentMutation.put(saved, 0))).isEmpty());
+        List<StudentMutation> stored = mine.append(List.of(
+                StudentMutation.put(versioned(edited(original, "Economics", 1.0), 1), 0),
+                StudentMutation.put(versioned(edited(roster.get("S2"), "Biology", 2.2), 1), 0)));
+        
+        assertEquals(1, stored.size());
+        assertEquals("Mathematics", stored.get(0).getStudent().getDepartment());
+        assertEquals(1, external.size());
+        Map<String, Student> reloaded = load(open());
+        assertEquals("Mathematics", reloaded.get("S1").getDepartment());
+        assertEquals(2.2, reloaded.get("S2").getGpa(), 1e-9);
+    }
+    
+    @Test
+    void acceptsChangeBasedOnTheOtherInstancesVersion() throws IOException {
+        StudentJournal mine = open();
+        StudentJournal theirs = open();
+        Student original = load(mine).get("S1");
+        load(theirs);
+        
+        theirs.append(List.of(StudentMutation.put(versioned(edited(original, "Mathematics", 3.9), 1), 0)));
+        mine.refresh();
+        List<StudentMutation> stored = mine.append(List.of(
+                StudentMutation.put(versioned(edited(original, "Physics", 3.3), 2), 1)));
+        
+        assertTrue(stored.isEmpty());
+        assertEquals(2, load(open()).get("S1").getVersion());
+    }
+    
+    @Test
+    void snapshotRewriteChangesRevision() throws IOException {
+        StudentJournal journal = open();
+        load(journal);
+        long revision = journal.getRevision();
+        
+        journal.append(List.of(StudentMutation.delete("S2", 0)));
+        assertEquals(revision, journal.getRevision());
+        
+        journal.writeSnapshot(List.of(student("S9", "Physics", 3.0, 2020)).iterator());
+        assertNotEquals(revision, journal.getRevision());
+        Map<String, Student> roster = load(open());
+        assertEquals(List.of("S9"), List.copyOf(roster.keySet()));
+        assertFalse(new File(dataDirectory, "students.log").exists());
+    }
+    
+    @Test
+    void fallsBackToJsonWhenTheBinaryMirrorIsDamaged() throws IOException {
+        File binary = new File(dataDirectory, "students.bin");
+        // The second record's ID length, after the 20-byte header and the 81-byte first record
+        try (RandomAccessFile out = new RandomAccessFile(binary, "rw")) {
+            out.seek(20 + 81);
+            out.writeInt(Integer.MAX_VALUE - 8);
+        }
+        assertEquals(List.of("S1", "S2"), List.copyOf(load(open()).keySet()));
+        
+        try (RandomAccessFile out = new RandomAccessFile(binary, "rw")) {
+            out.setLength(binary.length() / 2);
+        }
+        Map<String, Student> roster = load(open());
+        assertEquals(List.of("S1", "S2"), List.copyOf(roster.keySet()));
+        assertEquals("Biology", roster.get("S2").getDepartment());
+    }
+    
+    @Test
+    void compactionKeepsEveryChange() throws IOException, InterruptedException {
+        StudentJournal journal = open(1);
+        load(journal);
+        for (int i = 0; i < 50; i++) {
+            journal.append(List.of(StudentMutation.put(student("N" + i, "Physics", 2.0, 2020), StudentMutation.ABSENT)));
+        }
+        journal.close();
+        journals.remove(journal);
+        
+        Map<String, Student> roster = load(open());
+        assertEquals(52, roster.size());
+        assertTrue(new File(dataDirectory, "students.bin").exists());
+    }
+    
+    private StudentJournal open() {
+        return open(1024 * 1024);
+    }
+    
+    private StudentJournal open(long compactThreshold) {
+        StudentJournal journal = new StudentJournal(new File(dataDirectory, "students.json"), gson, compactThreshold);
+        journals.add(journal);
+        return journal;
+    }
+    
+    private static Map<String, Student> load(StudentJournal journal) throws IOException {
+        Map<String, Student> roster = new TreeMap<>();
+        journal.forEach(student -> roster.put(student.getStudentId(), student));
+        return roster;
+    }
+    
+    private static Student versioned(Student student, long version) {
+        student.setVersion(version);
+        return student;
+    }
+}
@@ -0,0 +1,203 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.studentmanagement.services.StudentFixtures.edited;
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentRepositoryTest {
+    
+    @TempDir
+    File dataDirectory;
+    
+    private JsonDataService dataService;
+    private StudentRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        dataService = new JsonDataService(dataDirectory);
+        repository = StudentRepository.load(dataService);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.detach();
+        dataService.close();
+    }
+    
+    @Test
+    void addRejectsTakenIds() {
+        assertTrue(repository.add(student("S1", "Physics", 3.2, 2021)));
+        assertFalse(repository.add(student("S1", "Biology", 2.0, 2022)));
+        
+        List<Student> duplicates = repository.addAll(List.of(student("S1", "Business", 1.0, 2020),
+                student("S2", "Business", 1.0, 2020)));
+        
+        assertEquals(List.of("S1"), ids(duplicates));
+        assertEquals(2, repository.size());
+        assertEquals("Physics", repository.findById("S1").getDepartment());
+    }
+    
+    @Test
+    void updateBumpsVersionAndMovesIndexes() {
+        repository.add(student("S1", "Physics", 3.2, 2021));
+        Student stored = repository.findById("S1");
+        
+        assertTrue(repository.update("S1", edited(stored, "Mathematics", 3.6)));
+        
+        Student updated = repository.findById("S1");
+        assertEquals(stored.getVersion() + 1, updated.getVersion());
+        assertTrue(repository.findByDepartment("Physics").isEmpty());
+        assertEquals(List.of("S1"), ids(repository.findByDepartment("Mathematics")));
+        assertEquals(3.6, repository.getStatistics().getAverageGpa(), 1e-9);
+        assertEquals(1, repository.search("s1@school").size());
+    }
+    
+    @Test
+    void updateFromStaleVersionIsConflict() {
+        repository.add(student("S1", "Physics", 3.2, 2021));
+        Student first = edited(repository.findById("S1"), "Chemistry", 3.0);
+        Student second = edited(repository.findById("S1"), "Biology", 2.5);
+        repository.update("S1", first);
+        
+        StudentConflictException conflict = assertThrows(StudentConflictException.class,
+                () -> repository.update("S1", second));
+        
+        assertSame(first, conflict.getCurrent());
+        assertEquals("Chemistry", repository.findById("S1").getDepartment());
+    }
+    
+    @Test
+    void editRacingAnotherInstanceIsRolledBackWhenWritten() {
+        repository.add(student("S1", "Physics", 3.2, 2021));
+        assertTrue(dataService.flushStudentChanges());
+        JsonDataService otherService = new JsonDataService(dataDirectory);
+        StudentRepository other = StudentRepository.load(otherService);
+        try {
+            assertTrue(other.update("S1", edited(other.findById("S1"), "Biology", 2.5)));
+            assertTrue(otherService.flushStudentChanges());
+            
+            // Checked against the roster in memory, which has not seen theirs yet
+            assertTrue(repository.update("S1", edited(repository.findById("S1"), "Chemistry", 3.0)));
+            assertTrue(dataService.flushStudentChanges());
+            
+            assertEquals("Biology", repository.findById("S1").getDepartment());
+            assertEquals(1, repository.findById("S1").getVersion());
+        } finally {
+            other.detach();
+            otherService.close();
+        }
+    }
+    
+    @Test
+    void versionedDeleteOnlyRemovesExpectedVersion() {
+        repository.add(student("S1", "Physics", 3.2, 2021));
+        long version = repository.findById("S1").getVersion();
+        
+        assertThrows(StudentConflictException.class, () -> repository.delete("S1", version + 1));
+        assertTrue(repository.containsId("S1"));
+        
+        assertEquals("S1", repository.delete("S1", version).getStudentId());
+        assertFalse(repository.containsId("S1"));
+        assertThrows(StudentConflictException.class, () -> repository.delete("S1", version));
+    }
+    
+    @Test
+    void queryFiltersAndSortsFromIndex() {
+        repository.addAll(List.of(
+                student("S1", "Physics", 3.1, 2020),
+                student("S2", "Physics", 3.9, 2021),
+                student("S3", "Biology", 3.5, 2021),
+                student("S4", "Physics", 2.4, 2022),
+                student("S5", "Physics", 3.9, 2019)));
+        
+        StudentQueryResult result = repository.query(StudentQuery.all()
+                .department("Physics")
+                .gpaBetween(3.0, 4.0)
+                .sortBy(StudentQuery.SortField.GPA, true));
+        
+        List<Student> rows = new ArrayList<>();
+        result.forEach(rows::add);
+        assertEquals(List.of("S5", "S2", "S1"), ids(rows));
+        assertEquals(3, result.size());
+        assertEquals(List.of("S2"), ids(result.fetchPage(1, 1)));
+    }
+    
+    @Test
+    void queryResultKeepsUpWithChanges() {
+        Random random = new Random(7);
+        List<Student> initial = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            initial.add(student(String.format("S%05d", i), i % 2 == 0 ? "Physics" : "Biology",
+                    Math.round(random.nextDouble() * 40) / 10.0, 2020));
+        }
+        repository.addAll(initial);
+        StudentQueryResult result = repository.query(StudentQuery.all()
+                .department("Physics")
+                .sortBy(StudentQuery.SortField.GPA, true));
+        assertEquals(2500, result.size());
+        
+        // Small rounds are replayed onto the checkpoints, the big one rescans
+        for (int round : new int[] {1, 40, 300, 2000, 5}) {
+            for (int i = 0; i < round; i++) {
+                String id = String.format("S%05d", random.nextInt(7000));
+                if (repository.containsId(id) && random.nextBoolean()) {
+                    repository.delete(id);
+                } else if (repository.containsId(id)) {
+                    repository.update(id, edited(repository.findById(id), "Physics", random.nextInt(41) / 10.0));
+                } else {
+                    repository.add(student(id, "Physics", random.nextInt(41) / 10.0, 2021));
+                }
+            }
+            
+            List<Student> expected = new ArrayList<>();
+            result.forEach(expected::add);
+            assertEquals(expected.size(), result.size());
+            for (int offset : new int[] {0, 1023, 1024, 2047, 2500, expected.size() - 3}) {
+                assertEquals(ids(expected.subList(offset, Math.min(expected.size(), offset + 50))),
+                        ids(result.fetchPage(offset, 50)));
+            }
+        }
+    }
+    
+    @Test
+    void changesSurviveReload() {
+        repository.addAll(List.of(student("S1", "Physics", 3.2, 2021), student("S2", "Biology", 2.8, 2022)));
+        repository.update("S1", edited(repository.findById("S1"), "Economics", 3.4));
+        repository.delete("S2");
+        assertTrue(dataService.flushStudentChanges());
+        repository.detach();
+        dataService.close();
+        
+        dataService = new JsonDataService(dataDirectory);
+        repository = StudentRepository.load(dataService);
+        
+        assertEquals(1, repository.size());
+        Student reloaded = repository.findById("S1");
+        assertEquals("Economics", reloaded.getDepartment());
+        assertEquals(3.4, reloaded.getGpa(), 1e-9);
+        assertEquals(1, reloaded.getVersion());
+        assertNull(repository.findById("S2"));
+    }
+    
+    private static List<String> ids(Iterable<Student> students) {
+        List<String> ids = new ArrayList<>();
+        students.forEach(student -> ids.add(student.getStudentId()));
+        return ids;
+    }
+}
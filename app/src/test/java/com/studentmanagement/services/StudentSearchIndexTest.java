@@ -0,0 +1,89 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSearchIndexTest {
+    
+    private final StudentSearchIndex index = new StudentSearchIndex();
+    
+    @Test
+    void matchesSubstringsOfAnyFieldIgnoringCase() {
+        index.add(named("S100", "Ada", "Lovelace", "Mathematics"));
+        index.add(named("S200", "Alan", "Turing", "Computer Science"));
+        index.add(named("S300", "Grace", "Hopper", "Computer Science"));
+        
+        assertEquals(Set.of("S100"), ids(index.search("LOVE")));
+        assertEquals(Set.of("S200", "S300"), ids(index.search("computer sci")));
+        assertEquals(Set.of("S300"), ids(index.search("s300@")));
+        assertEquals(Set.of("S200"), ids(index.search("  turing ")));
+    }
+    
+    @Test
+    void shortQueriesScanInsteadOfUsingTrigrams() {
+        index.add(named("S1", "Ada", "Lovelace", "Mathematics"));
+        index.add(named("S2", "Alan", "Turing", "Physics"));
+        
+        assertEquals(Set.of("S1", "S2"), ids(index.search("a")));
+        assertEquals(Set.of("S1"), ids(index.search("ad")));
+        assertTrue(index.search("   ").isEmpty());
+    }
+    
+    @Test
+    void doesNotMatchAcrossFieldBoundaries() {
+        index.add(named("S1", "Ada", "Lovelace", "Mathematics"));
+        
+        assertTrue(index.search("adalove").isEmpty());
+    }
+    
+    @Test
+    void reAddingReplacesAndRemovedStudentsDisappear() {
+        index.add(named("S1", "Ada", "Lovelace", "Mathematics"));
+        index.add(named("S2", "Alan", "Turing", "Physics"));
+        
+        index.add(named("S1", "Ada", "Byron", "Mathematics"));
+        index.remove("S2");
+        
+        assertEquals(1, index.size());
+        assertTrue(index.search("lovelace").isEmpty());
+        assertTrue(index.search("turing").isEmpty());
+        assertEquals(Set.of("S1"), ids(index.search("byron")));
+    }
+    
+    @Test
+    void reusesFreedDocumentSlots() {
+        for (int i = 0; i < 3000; i++) {
+            index.add(student("ID" + i, "Physics", 3.0, 2020));
+        }
+        for (int i = 0; i < 3000; i += 2) {
+            index.remove("ID" + i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            index.add(student("NEW" + i, "Biology", 3.0, 2020));
+        }
+        
+        assertEquals(3000, index.size());
+        assertEquals(1500, index.search("biology").size());
+        assertEquals(1500, index.search("physics").size());
+        assertEquals(Set.of("ID2999"), ids(index.search("id2999@")));
+    }
+    
+    private static Student named(String studentId, String firstName, String lastName, String department) {
+        Student student = student(studentId, department, 3.0, 2020);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        return student;
+    }
+    
+    private static Set<String> ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).collect(Collectors.toSet());
+    }
+}
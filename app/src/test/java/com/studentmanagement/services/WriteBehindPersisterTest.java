@@ -0,0 +1,112 @@
+package com.studentmanagement.services;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.studentmanagement.services.StudentFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindPersisterTest {
+    
+    @Test
+    void dropsOnlyTheRejectedChangeOfABatch() throws InterruptedException {
+        List<List<StudentMutation>> writes = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindPersister persister = new WriteBehindPersister(batch -> {
+            writes.add(batch);
+            for (StudentMutation mutation : batch) {
+                if (mutation.getStudentId().equals("POISON")) {
+                    List<StudentMutation> stored = batch.size() == 1
+                            ? List.of(StudentMutation.delete("POISON", StudentMutation.ABSENT))
+                            : List.of();
+                    throw new StudentWriteRejectedException("Value too long", stored, null);
+                }
+            }
+            return List.of();
+        }, 0);
+        List<List<StudentMutation>> conflicts = Collections.synchronizedList(new ArrayList<>());
+        BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+        persister.addConflictListener(conflicts::add);
+        persister.addFailureListener(failures::add);
+        
+        persister.submit(List.of(put("S1"), put("POISON"), put("S2")));
+        assertTrue(persister.flush(5, TimeUnit.SECONDS));
+        
+        assertEquals(List.of(List.of("S1", "POISON", "S2"), List.of("S1"), List.of("POISON"), List.of("S2")),
+                ids(writes));
+        assertEquals(1, conflicts.size());
+        assertEquals(StudentMutation.Type.DELETE, conflicts.get(0).get(0).getOp());
+        // Failure listeners hear about it after the batch counts as written
+        assertInstanceOf(StudentWriteRejectedException.class, failures.poll(5, TimeUnit.SECONDS));
+        
+        // Later edits are written on their own, not merged into a failing batch
+        persister.submit(List.of(put("S3")));
+        assertTrue(persister.flush(5, TimeUnit.SECONDS));
+        assertEquals(List.of("S3"), ids(writes).get(4));
+        assertEquals(0, persister.pendingCount());
+        assertTrue(failures.isEmpty());
+    }
+    
+    @Test
+    void retriesATransientFailureWithTheOriginalBaseVersion() throws InterruptedException {
+        List<List<StudentMutation>> writes = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean down = new AtomicBoolean(true);
+        WriteBehindPersister persister = new WriteBehindPersister(batch -> {
+            writes.add(batch);
+            if (down.get()) {
+                throw new IOException("Disk unavailable");
+            }
+            return List.of();
+        }, 0);
+        BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+        persister.addFailureListener(failures::add);
+        
+        persister.submit(List.of(put("S1"), put("S2")));
+        assertInstanceOf(IOException.class, failures.poll(5, TimeUnit.SECONDS));
+        assertTrue(persister.hasPendingWrites());
+        
+        // An edit made on top of the unsaved one replaces it, but the write
+        // still has to be checked against what the storage holds
+        Student edited = student("S1", "Biology", 3.5, 2020);
+        edited.setVersion(1);
+        persister.submit(List.of(StudentMutation.put(edited, 0)));
+        down.set(false);
+        assertTrue(persister.flush(5, TimeUnit.SECONDS));
+        
+        List<StudentMutation> retried = writes.get(writes.size() - 1);
+        assertEquals(List.of("S2", "S1"), ids(List.of(retried)).get(0));
+        assertEquals("Biology", retried.get(1).getStudent().getDepartment());
+        assertEquals(StudentMutation.ABSENT, retried.get(1).getBaseVersion());
+        assertFalse(persister.hasPendingWrites());
+        assertEquals(0, persister.pendingCount());
+    }
+    
+    static StudentMutation put(String studentId) {
+        return StudentMutation.put(student(studentId, "Physics", 3.0, 2020), StudentMutation.ABSENT);
+    }
+    
+    static List<List<String>> ids(List<List<StudentMutation>> batches) {
+        List<List<String>> ids = new ArrayList<>();
+        synchronized (batches) {
+            for (List<StudentMutation> batch : batches) {
+                List<String> batchIds = new ArrayList<>();
+                for (StudentMutation mutation : batch) {
+                    batchIds.add(mutation.getStudentId());
+                }
+                ids.add(batchIds);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,80 @@
+package com.studentmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+    
+    @Test
+    void readsPlainAndQuotedFields() throws IOException {
+        List<List<String>> records = readAll("id,name,gpa\nS1,\"Lovelace, Ada\",3.9\nS2,\"Say \"\"hi\"\"\",\n");
+        
+        assertEquals(List.of(
+                List.of("id", "name", "gpa"),
+                List.of("S1", "Lovelace, Ada", "3.9"),
+                List.of("S2", "Say \"hi\"", "")), records);
+    }
+    
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("a,\"line one\nline two\",b\n\nc,d\n"))) {
+            assertEquals(List.of("a", "line one\nline two", "b"), reader.readRecord());
+            assertEquals(1, reader.getRecordLine());
+            assertEquals(List.of("c", "d"), reader.readRecord());
+            assertEquals(4, reader.getRecordLine());
+            assertNull(reader.readRecord());
+        }
+    }
+    
+    @Test
+    void unterminatedQuoteIsAnError() {
+        CsvReader reader = new CsvReader(new StringReader("S1,\"never closed\nmore"));
+        
+        IOException error = assertThrows(IOException.class, reader::readRecord);
+        assertEquals("Unterminated quoted field starting on line 1", error.getMessage());
+    }
+    
+    @Test
+    void readsBackWhatCsvWriterWrote() throws IOException {
+        String[][] rows = {
+            {"S1", "plain", "3.5"},
+            {"S2", "comma, inside", "quote \" inside"},
+            {"S3", "two\nlines", ""},
+        };
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            for (String[] row : rows) {
+                writer.writeRecord(row);
+            }
+            writer.writeRecord("S4", null, "x");
+        }
+        
+        List<List<String>> records = readAll(out.toString());
+        
+        assertEquals(4, records.size());
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(List.of(rows[i]), records.get(i));
+        }
+        assertEquals(List.of("S4", "", "x"), records.get(3));
+    }
+    
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,36 @@
+package com.studentmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+    
+    @Test
+    void hashesAreSaltedAndVerify() {
+        String first = PasswordHasher.hash("admin123");
+        String second = PasswordHasher.hash("admin123");
+        
+        assertNotEquals(first, second);
+        assertTrue(PasswordHasher.verify("admin123", first));
+        assertTrue(PasswordHasher.verify("admin123", second));
+        assertFalse(PasswordHasher.verify("admin124", first));
+        assertFalse(PasswordHasher.needsRehash(first));
+    }
+    
+    @Test
+    void malformedHashesNeverVerify() {
+        String valid = PasswordHasher.hash("admin123");
+        
+        assertFalse(PasswordHasher.verify("admin123", "admin123"));
+        assertFalse(PasswordHasher.verify("admin123", "pbkdf2$0$c2FsdA$aGFzaA"));
+        assertFalse(PasswordHasher.verify("admin123", "pbkdf2$x$c2FsdA$aGFzaA"));
+        assertFalse(PasswordHasher.verify("admin123", "pbkdf2$1000$not base64$aGFzaA"));
+        assertFalse(PasswordHasher.verify("admin123", valid.substring(0, valid.lastIndexOf('$'))));
+        assertFalse(PasswordHasher.verify(null, valid));
+        assertTrue(PasswordHasher.needsRehash("admin123"));
+        assertTrue(PasswordHasher.needsRehash("pbkdf2$x$c2FsdA$aGFzaA"));
+    }
+}
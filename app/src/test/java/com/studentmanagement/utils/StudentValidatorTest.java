@@ -0,0 +1,84 @@
+package com.studentmanagement.utils;
+
+import com.studentmanagement.models.Student;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentValidatorTest {
+    
+    private final StudentValidator validator = new StudentValidator(
+            Clock.fixed(LocalDate.of(2024, 6, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    
+    @Test
+    void rejectsValuesLongerThanTheirColumns() {
+        Student student = valid();
+        student.setStudentId("S".repeat(ValidationUtils.MAX_ID_LENGTH + 1));
+        student.setFirstName("A".repeat(ValidationUtils.MAX_NAME_LENGTH + 1));
+        student.setLastName("B".repeat(ValidationUtils.MAX_NAME_LENGTH + 1));
+        student.setEmail("a".repeat(ValidationUtils.MAX_EMAIL_LENGTH) + "@school.edu");
+        student.setPhone("5".repeat(ValidationUtils.MAX_PHONE_LENGTH + 1));
+        student.setDepartment("D".repeat(ValidationUtils.MAX_DEPARTMENT_LENGTH + 1));
+        
+        assertEquals(Set.of(StudentValidator.Violation.INVALID_ID, StudentValidator.Violation.INVALID_FIRST_NAME,
+                StudentValidator.Violation.INVALID_LAST_NAME, StudentValidator.Violation.INVALID_EMAIL,
+                StudentValidator.Violation.INVALID_PHONE, StudentValidator.Violation.INVALID_DEPARTMENT),
+                validator.validate(student));
+    }
+    
+    @Test
+    void acceptsValuesThatExactlyFillTheirColumns() {
+        Student student = valid();
+        student.setStudentId("S".repeat(ValidationUtils.MAX_ID_LENGTH));
+        student.setFirstName("A".repeat(ValidationUtils.MAX_NAME_LENGTH));
+        student.setEmail("a".repeat(ValidationUtils.MAX_EMAIL_LENGTH - "@school.edu".length()) + "@school.edu");
+        student.setPhone("+" + "5".repeat(ValidationUtils.MAX_PHONE_LENGTH - 1));
+        student.setDepartment("D".repeat(ValidationUtils.MAX_DEPARTMENT_LENGTH));
+        
+        assertTrue(validator.validate(student).isEmpty());
+    }
+    
+    @Test
+    void reportsEveryMissingOrOutOfRangeField() {
+        Student empty = new Student();
+        empty.setGpa(4.01);
+        
+        assertEquals(Set.of(StudentValidator.Violation.INVALID_ID, StudentValidator.Violation.INVALID_FIRST_NAME,
+                StudentValidator.Violation.INVALID_LAST_NAME, StudentValidator.Violation.MISSING_DATE_OF_BIRTH,
+                StudentValidator.Violation.INVALID_EMAIL, StudentValidator.Violation.INVALID_PHONE,
+                StudentValidator.Violation.MISSING_DEPARTMENT, StudentValidator.Violation.INVALID_GPA,
+                StudentValidator.Violation.INVALID_ENROLLMENT_YEAR), validator.validate(empty));
+    }
+    
+    @Test
+    void ageIsCheckedAgainstTheClock() {
+        Student student = valid();
+        student.setDateOfBirth(LocalDate.of(2008, 6, 1));
+        assertTrue(validator.isValid(student));
+        
+        student.setDateOfBirth(LocalDate.of(2008, 6, 2));
+        assertEquals(Set.of(StudentValidator.Violation.TOO_YOUNG), validator.validate(student));
+    }
+    
+    @Test
+    void validateAllKeepsTheInputOrder() {
+        Student bad = valid();
+        bad.setEmail("not an email");
+        
+        List<Set<StudentValidator.Violation>> results = validator.validateAll(List.of(valid(), bad, valid()));
+        
+        assertEquals(List.of(Set.of(), Set.of(StudentValidator.Violation.INVALID_EMAIL), Set.of()), results);
+    }
+    
+    private static Student valid() {
+        return new Student("S000001", "Ada", "Lovelace", LocalDate.of(2001, 2, 3),
+                "ada@school.edu", "555-010-0100", "Physics", 3.5, 2021);
+    }
+}
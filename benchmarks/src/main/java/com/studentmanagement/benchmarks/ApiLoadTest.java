@@ -0,0 +1,190 @@
+package com.studentmanagement.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.studentmanagement.utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load test against a running ApiServer. Each client thread logs
+// in, then repeatedly picks a request from a read-heavy mix and waits for the
+// reply; latency is recorded per endpoint and requests/sec over the whole run.
+//
+//   java ... com.studentmanagement.benchmarks.ApiLoadTest [baseUrl] [clients] [seconds] [username] [password]
+//
+// Defaults: http://localhost:8080 16 30 admin admin123
+public class ApiLoadTest {
+    private static final String[] SORT_FIELDS = {"studentId", "lastName", "gpa", "enrollmentYear"};
+    private static final String[] SEARCH_TERMS = {"smith", "chen", "maria", "an", "S000"};
+    
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    public ApiLoadTest(String baseUrl, String username, String password) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.username = username;
+        this.password = password;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String username = args.length > 3 ? args[3] : "admin";
+        String password = args.length > 4 ? args[4] : "admin123";
+        
+        ApiLoadTest test = new ApiLoadTest(baseUrl, username, password);
+        System.out.println(test.run(clients, Duration.ofSeconds(seconds)));
+    }
+    
+    public String run(int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            Thread worker = new Thread(() -> runClient(deadline), "load-client-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return report(clients, elapsedSeconds);
+    }
+    
+    private void runClient(long deadline) {
+        String token;
+        int total;
+        try {
+            token = login();
+            total = studentCount(token);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Client could not start: " + e.getMessage());
+            errors.increment();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        // Last ETag seen for the list endpoint, replayed as If-None-Match
+        String listEtag = null;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            int pick = random.nextInt(100);
+            try {
+                if (pick < 40) {
+                    String sort = SORT_FIELDS[random.nextInt(SORT_FIELDS.length)];
+                    int offset = total > 50 ? random.nextInt(total - 50) : 0;
+                    send("list", get("/api/students?limit=50&offset=" + offset + "&sort=" + sort, token, null));
+                } else if (pick < 60) {
+                    HttpResponse<String> response = send("list (conditional)",
+                            get("/api/students?limit=50", token, listEtag));
+                    listEtag = response.headers().firstValue("ETag").orElse(listEtag);
+                } else if (pick < 75) {
+                    String id = String.format("S%07d", random.nextInt(Math.max(1, total)));
+                    send("get by id", get("/api/students/" + id, token, null));
+                } else if (pick < 90) {
+                    String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                    send("search", get("/api/students?limit=20&q=" + term, token, null));
+                } else {
+                    send("stats", get("/api/stats", token, null));
+                }
+            } catch (IOException e) {
+                errors.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private String login() throws IOException, InterruptedException {
+        JsonObject credentials = new JsonObject();
+        credentials.addProperty("username", username);
+        credentials.addProperty("password", password);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Login failed with HTTP " + response.statusCode());
+        }
+        return JsonParser.parseString(response.body()).getAsJsonObject().get("token").getAsString();
+    }
+    
+    private int studentCount(String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/api/students?limit=1", token, null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Listing students failed with HTTP " + response.statusCode());
+        }
+        return JsonParser.parseString(response.body()).getAsJsonObject().get("total").getAsInt();
+    }
+    
+    private HttpRequest get(String path, String token, String etag) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+    
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+        latencies.computeIfAbsent(endpoint, e -> new LatencyHistogram()).record(elapsed);
+        overall.record(elapsed);
+        if (response.statusCode() == 304) {
+            notModified.increment();
+        } else if (response.statusCode() >= 400 && response.statusCode() != 404) {
+            errors.increment();
+        }
+        return response;
+    }
+    
+    private String report(int clients, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d clients, %.1f s, %d requests, %.0f req/s, %d not modified, %d errors%n",
+                clients, elapsedSeconds, overall.count(), overall.count() / elapsedSeconds,
+                notModified.sum(), errors.sum()));
+        report.append(String.format("%-20s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "mean ms", "p50 ms", "p95 ms", "p99 ms"));
+        latencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> appendRow(report, entry.getKey(), entry.getValue()));
+        appendRow(report, "all", overall);
+        return report.toString();
+    }
+    
+    private static void appendRow(StringBuilder report, String name, LatencyHistogram histogram) {
+        report.append(String.format("%-20s %10d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.count(),
+                histogram.meanNanos() / 1_000_000.0,
+                histogram.percentileNanos(50) / 1_000_000.0,
+                histogram.percentileNanos(95) / 1_000_000.0,
+                histogram.percentileNanos(99) / 1_000_000.0));
+    }
+}
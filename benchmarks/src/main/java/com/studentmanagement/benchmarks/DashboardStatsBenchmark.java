@@ -0,0 +1,73 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.ColumnarStudentStore;
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentAnalytics;
+import com.studentmanagement.services.StudentRepository;
+import com.studentmanagement.services.StudentStatistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Dashboard figures: the per-load stream aggregations the dashboard used to
+// run, reading the repository's running statistics, and the full GPA/cohort
+// analytics over object and columnar rosters.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class DashboardStatsBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private List<Student> roster;
+    private StudentRepository repository;
+    private ColumnarStudentStore columnar;
+    private int sinceYear;
+    
+    @Setup
+    public void setUp() {
+        roster = RosterGenerator.roster(size);
+        repository = StudentRepository.of(roster);
+        columnar = ColumnarStudentStore.of(roster);
+        sinceYear = LocalDate.now().getYear() - 2;
+    }
+    
+    @Benchmark
+    public void streamAggregates(Blackhole blackhole) {
+        double totalGpa = roster.stream().mapToDouble(Student::getGpa).sum();
+        blackhole.consume(totalGpa / roster.size());
+        blackhole.consume(roster.stream()
+                .filter(s -> s.getEnrollmentYear() >= sinceYear)
+                .count());
+        Map<String, Long> departmentCount = roster.stream()
+                .collect(Collectors.groupingBy(Student::getDepartment, Collectors.counting()));
+        blackhole.consume(departmentCount);
+    }
+    
+    @Benchmark
+    public void runningStatistics(Blackhole blackhole) {
+        StudentStatistics statistics = repository.getStatistics();
+        blackhole.consume(statistics.getAverageGpa());
+        blackhole.consume(statistics.countEnrolledSince(sinceYear));
+        blackhole.consume(statistics.getDepartmentCounts());
+    }
+    
+    @Benchmark
+    public StudentAnalytics.Report analytics() {
+        return StudentAnalytics.analyze(roster);
+    }
+    
+    @Benchmark
+    public StudentAnalytics.Report columnarAnalytics() {
+        return StudentAnalytics.analyze(columnar);
+    }
+}
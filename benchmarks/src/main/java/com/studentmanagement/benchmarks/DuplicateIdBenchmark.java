@@ -0,0 +1,56 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The duplicate-ID check run on every add: a stream scan of the roster, as
+// the student screen used to do, against the repository's ID index. The
+// missing ID is the common case and the scan's worst case.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class DuplicateIdBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private List<Student> roster;
+    private StudentRepository repository;
+    private String existingId;
+    private String missingId;
+    
+    @Setup
+    public void setUp() {
+        roster = RosterGenerator.roster(size);
+        repository = StudentRepository.of(roster);
+        existingId = roster.get(size / 2).getStudentId();
+        missingId = RosterGenerator.missingId();
+    }
+    
+    @Benchmark
+    public boolean scanExisting() {
+        return roster.stream().anyMatch(s -> s.getStudentId().equals(existingId));
+    }
+    
+    @Benchmark
+    public boolean scanMissing() {
+        return roster.stream().anyMatch(s -> s.getStudentId().equals(missingId));
+    }
+    
+    @Benchmark
+    public boolean indexExisting() {
+        return repository.containsId(existingId);
+    }
+    
+    @Benchmark
+    public boolean indexMissing() {
+        return repository.containsId(missingId);
+    }
+}
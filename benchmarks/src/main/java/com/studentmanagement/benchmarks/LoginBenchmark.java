@@ -0,0 +1,83 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.User;
+import com.studentmanagement.services.AuthService;
+import com.studentmanagement.services.DataServices;
+import com.studentmanagement.services.Session;
+import com.studentmanagement.utils.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Concurrent logins against the cached user index at two PBKDF2 cost
+// factors. SampleTime mode reports latency percentiles; throughput is
+// across all benchmark threads.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+    private static final int USERS = 50;
+    
+    @Param({"10000", "120000"})
+    private int iterations;
+    
+    private File directory;
+    
+    // Runs before the data service is created in the forked JVM, so the data
+    // directory override takes effect and data/ is never touched
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sms-login-bench").toFile();
+        System.setProperty("sms.data.dir", directory.getPath());
+        System.setProperty("sms.auth.pbkdf2.iterations", String.valueOf(iterations));
+        
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("user" + i, PasswordHasher.hash("password" + i), "user"));
+        }
+        DataServices.get().saveUsers(users);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+    
+    // Logs straight out again so sessions don't pile up over the run
+    @Benchmark
+    public boolean validLogin() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        Session session = AuthService.authenticate("user" + i, "password" + i);
+        if (session != null) {
+            AuthService.logout(session.getToken());
+        }
+        return session != null;
+    }
+    
+    @Benchmark
+    public boolean wrongPassword() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return AuthService.authenticate("user" + i, "wrong") != null;
+    }
+    
+    @Benchmark
+    public boolean unknownUser() {
+        return AuthService.authenticate("nobody", "password") != null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.JsonDataService;
+import com.studentmanagement.services.StudentBinarySnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Reading and writing the roster in the students.json format and in the
+// binary snapshot format. Uses a temporary directory, never data/.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PersistenceBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private List<Student> roster;
+    private File directory;
+    private File jsonFile;
+    private File binaryFile;
+    private File outputFile;
+    
+    @Setup
+    public void setUp() throws IOException {
+        roster = RosterGenerator.roster(size);
+        directory = Files.createTempDirectory("sms-bench").toFile();
+        jsonFile = new File(directory, "students.json");
+        binaryFile = new File(directory, "students.bin");
+        outputFile = new File(directory, "output");
+        JsonDataService.writeStudents(jsonFile, roster.iterator());
+        StudentBinarySnapshot.convertJsonToBinary(jsonFile, binaryFile);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        for (File file : new File[] {jsonFile, binaryFile, outputFile}) {
+            file.delete();
+        }
+        directory.delete();
+    }
+    
+    @Benchmark
+    public void loadJson(Blackhole blackhole) throws IOException {
+        try (JsonDataService.StudentReader reader = new JsonDataService.StudentReader(jsonFile)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+    
+    @Benchmark
+    public void loadBinary(Blackhole blackhole) throws IOException {
+        try (StudentBinarySnapshot.Reader reader = StudentBinarySnapshot.openReader(binaryFile)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+    
+    @Benchmark
+    public void saveJson() throws IOException {
+        JsonDataService.writeStudents(outputFile, roster.iterator());
+    }
+    
+    @Benchmark
+    public void saveBinary() throws IOException {
+        try (StudentBinarySnapshot.Writer writer = StudentBinarySnapshot.openWriter(outputFile)) {
+            for (Student student : roster) {
+                writer.write(student);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.ColumnarStudentStore;
+import com.studentmanagement.models.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Heap held by the roster as Student objects vs. as a ColumnarStudentStore.
+// Each invocation builds one roster straight from the generator and reports
+// the heap it keeps after a full GC as the retainedBytes and bytesPerStudent
+// counters; the score is the time to build it.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-XX:+UseSerialGC"})
+public class RosterFootprintBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private Object roster;
+    private long baseline;
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+        public long bytesPerStudent;
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUp() {
+        roster = null;
+        baseline = usedHeap();
+    }
+    
+    @Benchmark
+    public Object objects(Footprint footprint) {
+        RosterGenerator generator = new RosterGenerator(42);
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(generator.next());
+        }
+        return measure(students, footprint);
+    }
+    
+    @Benchmark
+    public Object columnar(Footprint footprint) {
+        // Filled one student at a time, so no Student list is ever held
+        RosterGenerator generator = new RosterGenerator(42);
+        ColumnarStudentStore store = new ColumnarStudentStore(size);
+        for (int i = 0; i < size; i++) {
+            store.add(generator.next());
+        }
+        return measure(store, footprint);
+    }
+    
+    private Object measure(Object built, Footprint footprint) {
+        roster = built;
+        footprint.retainedBytes = usedHeap() - baseline;
+        footprint.bytesPerStudent = footprint.retainedBytes / size;
+        return built;
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,99 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic rosters for benchmarks. Department sizes are
+// skewed the way a real intake is, GPAs follow a per-department normal
+// curve clipped to 0.0-4.0, and birth dates line up with enrollment year,
+// so index buckets and histograms see realistic shapes.
+public class RosterGenerator {
+    private static final String[] DEPARTMENTS = Student.DEPARTMENTS.toArray(new String[0]);
+    // Relative share of students per department, in Student.DEPARTMENTS order
+    private static final double[] DEPARTMENT_WEIGHTS = {0.24, 0.08, 0.06, 0.07, 0.12, 0.18, 0.17, 0.08};
+    private static final double[] GPA_MEANS = {3.05, 3.20, 3.10, 2.95, 3.00, 2.90, 3.15, 3.05};
+    private static final double GPA_STDDEV = 0.45;
+    private static final int FIRST_YEAR = 2015;
+    private static final int LAST_YEAR = 2024;
+    
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Daniel", "Karen",
+        "Wei", "Aisha", "Mohammed", "Fatima", "Hiroshi", "Yuki", "Carlos", "Sofia", "Arjun", "Priya",
+        "Olga", "Dmitri", "Chen", "Mei", "Kwame", "Amara", "Lucas", "Emma", "Noah", "Olivia"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Nguyen", "Patel", "Kim", "Chen", "Wang", "Khan", "Rashid", "Ivanov", "Tanaka",
+        "Okafor", "Mensah", "Silva", "Rossi", "Muller", "Dubois", "Kowalski", "Haddad", "Cohen", "Singh"
+    };
+    
+    private final Random random;
+    private final double[] cumulativeWeights = new double[DEPARTMENT_WEIGHTS.length];
+    private int nextId;
+    
+    public RosterGenerator(long seed) {
+        this.random = new Random(seed);
+        double total = 0;
+        for (int i = 0; i < DEPARTMENT_WEIGHTS.length; i++) {
+            total += DEPARTMENT_WEIGHTS[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    public static List<Student> roster(int size) {
+        return new RosterGenerator(42).generate(size);
+    }
+    
+    public List<Student> generate(int size) {
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(next());
+        }
+        return students;
+    }
+    
+    public Student next() {
+        int id = nextId++;
+        int department = pickDepartment();
+        int enrollmentYear = FIRST_YEAR + random.nextInt(LAST_YEAR - FIRST_YEAR + 1);
+        // Most students enroll at 18 or 19
+        int ageAtEnrollment = 17 + Math.min(6, (int) Math.abs(random.nextGaussian() * 1.5) + 1);
+        LocalDate dateOfBirth = LocalDate.of(enrollmentYear - ageAtEnrollment, 1, 1)
+                .plusDays(random.nextInt(365));
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        double gpa = Math.max(0.0, Math.min(4.0, GPA_MEANS[department] + random.nextGaussian() * GPA_STDDEV));
+        
+        return new Student(
+                String.format("S%07d", id),
+                firstName,
+                lastName,
+                dateOfBirth,
+                (firstName + "." + lastName + id + "@school.edu").toLowerCase(),
+                String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10000)),
+                DEPARTMENTS[department],
+                Math.round(gpa * 100) / 100.0,
+                enrollmentYear);
+    }
+    
+    // An ID that is not in a roster built by this generator
+    public static String missingId() {
+        return "X0000000";
+    }
+    
+    private int pickDepartment() {
+        double r = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+}
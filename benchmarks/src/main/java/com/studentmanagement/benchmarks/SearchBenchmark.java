@@ -0,0 +1,55 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.services.StudentSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Free-text search: the linear lower-case contains() scan the student screen
+// used to run on every keystroke, against the trigram index.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SearchBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    // A surname, an ID fragment, a department and an email fragment
+    @Param({"rashid", "s00042", "physics", "olga.k"})
+    private String query;
+    
+    private List<Student> roster;
+    private StudentSearchIndex index;
+    
+    @Setup
+    public void setUp() {
+        roster = RosterGenerator.roster(size);
+        index = new StudentSearchIndex();
+        for (Student student : roster) {
+            index.add(student);
+        }
+    }
+    
+    @Benchmark
+    public List<Student> linearScan() {
+        String searchText = query.toLowerCase().trim();
+        return roster.stream()
+            .filter(s -> s.getStudentId().toLowerCase().contains(searchText) ||
+                        s.getFirstName().toLowerCase().contains(searchText) ||
+                        s.getLastName().toLowerCase().contains(searchText) ||
+                        s.getEmail().toLowerCase().contains(searchText) ||
+                        s.getDepartment().toLowerCase().contains(searchText))
+            .toList();
+    }
+    
+    @Benchmark
+    public List<Student> trigramIndex() {
+        return index.search(query);
+    }
+}
@@ -0,0 +1,97 @@
+package com.studentmanagement.benchmarks;
+
+import com.studentmanagement.models.Student;
+import com.studentmanagement.utils.StudentValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Validating a batch of students: the old per-call regex compile and clock
+// read, against StudentValidator sequentially and in parallel.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    
+    @Param({"10000", "100000"})
+    private int size;
+    
+    private List<Student> students;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Roughly one row in twenty breaks a rule
+            boolean bad = random.nextInt(20) == 0;
+            students.add(new Student(
+                    String.format("S%06d", i),
+                    "First" + random.nextInt(1000),
+                    "Last" + random.nextInt(1000),
+                    LocalDate.of(bad ? 2020 : 1995 + random.nextInt(10), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    bad ? "not-an-email" : "student" + i + "@school.edu",
+                    "555-" + (1000000 + random.nextInt(9000000)),
+                    Student.DEPARTMENTS.get(random.nextInt(Student.DEPARTMENTS.size())),
+                    Math.round(random.nextDouble() * 400) / 100.0,
+                    2015 + random.nextInt(10)));
+        }
+    }
+    
+    @Benchmark
+    public int recompilingChecks() {
+        int valid = 0;
+        for (Student student : students) {
+            if (legacyIsValid(student)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+    
+    @Benchmark
+    public int validator() {
+        StudentValidator validator = new StudentValidator();
+        int valid = 0;
+        for (Student student : students) {
+            if (validator.isValid(student)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+    
+    @Benchmark
+    public int validatorParallel() {
+        int valid = 0;
+        for (var violations : new StudentValidator().validateAll(students)) {
+            if (violations.isEmpty()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+    
+    // The checks as ValidationUtils used to run them
+    private static boolean legacyIsValid(Student student) {
+        String id = student.getStudentId();
+        return id != null && !id.trim().isEmpty() && id.length() >= 6
+                && student.getFirstName().trim().length() >= 2
+                && student.getLastName().trim().length() >= 2
+                && Period.between(student.getDateOfBirth(), LocalDate.now()).getYears() >= 16
+                && Pattern.matches("^[A-Za-z0-9+_.-]+@(.+)$", student.getEmail())
+                && Pattern.matches("^\\+?[0-9\\s-]{10,}$", student.getPhone())
+                && student.getDepartment() != null
+                && student.getGpa() >= 0.0 && student.getGpa() <= 4.0
+                && student.getEnrollmentYear() >= 2000 && student.getEnrollmentYear() <= LocalDate.now().getYear();
+    }
+}